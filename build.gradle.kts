@@ -23,6 +23,7 @@ dependencies {
     intellijPlatform {
         create("IC", "2023.2")
         testFramework(org.jetbrains.intellij.platform.gradle.TestFrameworkType.Platform)
+        testFramework(org.jetbrains.intellij.platform.gradle.TestFrameworkType.Plugin.Java) // LightJavaCodeInsightFixtureTestCase
         bundledPlugin("com.intellij.java")
     }
 
@@ -30,6 +31,8 @@ dependencies {
     testImplementation(group = "org.hamcrest", name = "hamcrest", version = "2.2")
     testImplementation(group = "org.junit.jupiter", name = "junit-jupiter-api", version = "5.9.2")
     testRuntimeOnly(group = "org.junit.jupiter", name = "junit-jupiter-engine", version = "5.9.2")
+    testImplementation(group = "junit", name = "junit", version = "4.13.2") // Platform fixture tests
+    testRuntimeOnly(group = "org.junit.vintage", name = "junit-vintage-engine", version = "5.9.2")
 }
 
 intellijPlatform {
@@ -155,6 +158,10 @@ tasks {
         }
     }
 
+    test {
+        useJUnitPlatform()
+    }
+
     processResources {
         duplicatesStrategy = DuplicatesStrategy.EXCLUDE
     }
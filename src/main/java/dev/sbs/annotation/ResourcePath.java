@@ -10,6 +10,9 @@ import java.lang.annotation.Target;
 /**
  * Indicates that the annotated string field, method parameter, or enum constructor parameter
  * represents a resource path that should exist in the resource directory.
+ * <p>
+ * Annotation types annotated with {@code ResourcePath} carry the same semantics, using the
+ * {@code base} of the meta-annotation as preset base folder.
  *
  * <pre><code>
  *   // Class Field
@@ -35,10 +38,18 @@ import java.lang.annotation.Target;
  *           this.iconPath = iconPath;
  *       }
  *   }
+ *
+ *   // Meta-Annotation (with base)
+ *   &#64;ResourcePath(base = "textures")
+ *   &#64;Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD })
+ *   public &#64;interface TextureAsset { }
+ *
+ *   &#64;TextureAsset
+ *   private String stoneTexture = "stone.png"; // textures/stone.png
  * </code></pre>
  */
 @Retention(RetentionPolicy.CLASS)
-@Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD })
+@Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD, ElementType.ANNOTATION_TYPE })
 public @interface ResourcePath {
 
     /**
@@ -0,0 +1,232 @@
+package dev.sbs.inspection;
+
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.psi.*;
+import com.intellij.psi.tree.IElementType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reduced {@code ResourcePath} inspection that runs while the project is being indexed.
+ * <p>
+ * Only plain literal values and concatenations of constants declared in the same file are
+ * evaluated. Only {@code ResourcePath} itself is matched, by its short name, and call targets
+ * are matched by name and arity within the enclosing classes, so no resolve or index access
+ * takes place. Meta-annotations require the index and are picked up by the full analysis. Problems are
+ * reported with the same messages on the same elements as {@link ResourcePathVisitor}, which
+ * replaces these results once indexing finishes.
+ */
+class DumbResourcePathVisitor extends JavaElementVisitor {
+
+    private final @NotNull Set<PsiAnnotation> visitedAnnotations = new HashSet<>();
+    private final @NotNull ProblemsHolder holder;
+    private final @NotNull ProblemHighlightType baseHighlightType;
+    private final @NotNull ResourcePathResolver resolver;
+
+    public DumbResourcePathVisitor(@NotNull ProblemsHolder holder, @NotNull ProblemHighlightType baseHighlightType) {
+        this.holder = holder;
+        this.baseHighlightType = baseHighlightType;
+        this.resolver = ResourcePathResolver.getInstance(holder.getProject());
+    }
+
+    @Override
+    public void visitField(@NotNull PsiField field) {
+        if (field instanceof PsiEnumConstant) return;
+        PsiExpression initializer = field.getInitializer();
+        if (initializer == null) return;
+
+        this.inspectArgument(initializer, findAnnotation(field.getModifierList()));
+    }
+
+    @Override
+    public void visitEnumConstant(@NotNull PsiEnumConstant enumConstant) {
+        PsiExpressionList args = enumConstant.getArgumentList();
+        if (args == null) return;
+
+        this.inspectArguments(args.getExpressions(), findMethod(enumConstant.getContainingClass(), null, args.getExpressionCount()));
+    }
+
+    @Override
+    public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+        PsiReferenceExpression methodExpression = expression.getMethodExpression();
+        PsiExpression qualifier = methodExpression.getQualifierExpression();
+        if (qualifier != null && !(qualifier instanceof PsiThisExpression)) return;
+        String name = methodExpression.getReferenceName();
+        if (name == null) return;
+        PsiExpression[] arguments = expression.getArgumentList().getExpressions();
+        PsiClass containingClass = getContainingClass(expression);
+
+        while (containingClass != null) {
+            PsiMethod method = findMethod(containingClass, name, arguments.length);
+
+            if (method != null) {
+                this.inspectArguments(arguments, method);
+                return;
+            }
+
+            containingClass = getContainingClass(containingClass);
+        }
+    }
+
+    private void inspectArguments(@NotNull PsiExpression[] arguments, @Nullable PsiMethod method) {
+        if (method == null) return;
+        PsiParameter[] parameters = method.getParameterList().getParameters();
+
+        for (int i = 0; i < Math.min(arguments.length, parameters.length); i++)
+            this.inspectArgument(arguments[i], findAnnotation(parameters[i].getModifierList()));
+    }
+
+    private void inspectArgument(@NotNull PsiExpression expression, @Nullable PsiAnnotation annotation) {
+        if (annotation == null) return;
+        String base = getBaseFolder(annotation);
+        if (base == null) return;
+
+        if (this.visitedAnnotations.add(annotation) && !this.resolver.exists(base, true)) {
+            PsiAnnotationMemberValue baseValue = annotation.findDeclaredAttributeValue("base");
+
+            if (baseValue != null)
+                this.holder.registerProblem(baseValue, "Invalid Base Directory: " + base, this.baseHighlightType);
+
+            return;
+        }
+
+        String value = evaluateConstant(expression, new HashSet<>());
+        if (value == null || value.isEmpty()) return;
+        String resourcePath = ResourcePathResolver.resolveFullPath(base, value);
+
+        if (!this.resolver.exists(resourcePath, false))
+            this.holder.registerProblem(expression, "Missing Resource File: " + resourcePath, ProblemHighlightType.GENERIC_ERROR_OR_WARNING);
+    }
+
+    /**
+     * Evaluates literals, parenthesized expressions, string concatenations and final fields
+     * declared in an enclosing class of the same file.
+     *
+     * @return the constant value, or null if it cannot be determined without resolving
+     */
+    private static @Nullable String evaluateConstant(@Nullable PsiExpression expression, @NotNull Set<PsiField> visitedFields) {
+        if (expression instanceof PsiLiteralExpression literal)
+            return literal.getValue() instanceof String value ? value : null;
+
+        if (expression instanceof PsiParenthesizedExpression parenthesized)
+            return evaluateConstant(parenthesized.getExpression(), visitedFields);
+
+        if (expression instanceof PsiPolyadicExpression polyadic) {
+            IElementType operation = polyadic.getOperationTokenType();
+            if (operation != JavaTokenType.PLUS) return null;
+            StringBuilder builder = new StringBuilder();
+
+            for (PsiExpression operand : polyadic.getOperands()) {
+                String value = evaluateConstant(operand, visitedFields);
+                if (value == null) return null;
+                builder.append(value);
+            }
+
+            return builder.toString();
+        }
+
+        if (expression instanceof PsiReferenceExpression reference) {
+            PsiField field = findSameFileField(reference);
+            if (field == null || !visitedFields.add(field)) return null;
+            return evaluateConstant(field.getInitializer(), visitedFields);
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds a final field by name in the enclosing classes of the reference, optionally qualified
+     * by the simple name of one of those classes.
+     */
+    private static @Nullable PsiField findSameFileField(@NotNull PsiReferenceExpression reference) {
+        String name = reference.getReferenceName();
+        if (name == null) return null;
+        PsiExpression qualifier = reference.getQualifierExpression();
+        String qualifierName = null;
+
+        if (qualifier instanceof PsiReferenceExpression qualifierReference && qualifierReference.getQualifierExpression() == null)
+            qualifierName = qualifierReference.getReferenceName();
+        else if (qualifier != null && !(qualifier instanceof PsiThisExpression))
+            return null;
+
+        PsiClass containingClass = getContainingClass(reference);
+
+        while (containingClass != null) {
+            if (qualifierName == null || qualifierName.equals(containingClass.getName())) {
+                PsiField field = containingClass.findFieldByName(name, false);
+
+                if (field != null)
+                    return field.hasModifierProperty(PsiModifier.FINAL) ? field : null;
+            }
+
+            containingClass = getContainingClass(containingClass);
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds the only method or constructor with the given name and parameter count.
+     *
+     * @param name the method name, or null for constructors
+     */
+    private static @Nullable PsiMethod findMethod(@Nullable PsiClass psiClass, @Nullable String name, int parameterCount) {
+        if (psiClass == null) return null;
+        PsiMethod[] candidates = name == null ? psiClass.getConstructors() : psiClass.findMethodsByName(name, false);
+        PsiMethod result = null;
+
+        for (PsiMethod candidate : candidates) {
+            if (candidate.isVarArgs() || candidate.getParameterList().getParametersCount() != parameterCount) continue;
+            if (result != null) return null; // Ambiguous without resolve
+            result = candidate;
+        }
+
+        return result;
+    }
+
+    private static @Nullable PsiClass getContainingClass(@NotNull PsiElement element) {
+        PsiElement current = element.getParent();
+
+        while (current != null && !(current instanceof PsiFile)) {
+            if (current instanceof PsiClass psiClass) return psiClass;
+            current = current.getParent();
+        }
+
+        return null;
+    }
+
+    /**
+     * Finds a {@code ResourcePath} annotation by its short name.
+     */
+    static @Nullable PsiAnnotation findAnnotation(@Nullable PsiModifierList modifierList) {
+        if (modifierList == null) return null;
+
+        for (PsiAnnotation annotation : modifierList.getAnnotations()) {
+            if (isResourcePathAnnotation(annotation))
+                return annotation;
+        }
+
+        return null;
+    }
+
+    static boolean isResourcePathAnnotation(@NotNull PsiAnnotation annotation) {
+        PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+        return reference != null && ResourcePathAnnotations.ANNOTATION_NAME.equals(reference.getReferenceName());
+    }
+
+    /**
+     * Reads the literal {@code base} attribute of the annotation.
+     *
+     * @return the base folder, empty if not specified, or null if it is not a literal
+     */
+    private static @Nullable String getBaseFolder(@NotNull PsiAnnotation annotation) {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("base");
+        if (value == null) return "";
+        return value instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue ? strValue : null;
+    }
+
+}
@@ -0,0 +1,400 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.diagnostic.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded binary store of serialized evaluations, backing the {@link ResourcePathDiskCache}.
+ * <p>
+ * The store is written to a new {@code evaluations.<generation>.bin} file on every save and the
+ * newest generation is memory-mapped on first access, entry payloads are only decoded when
+ * requested. A mapped file is never replaced or deleted while mapped, older generations are
+ * removed on a best-effort basis once a newer one was written, which keeps saving working on
+ * platforms that lock mapped files. The number of entries and the file size are bounded, least
+ * recently used entries are dropped first. A store that fails to parse, or was written by another
+ * format or evaluator version, is discarded.
+ */
+final class EvaluationStore {
+
+    private static final @NotNull Logger LOG = Logger.getInstance(EvaluationStore.class);
+    private static final int MAGIC = 0x52504443; // RPDC
+    private static final int VERSION = 3;
+    private static final @NotNull Pattern FILE_NAME = Pattern.compile("evaluations\\.(\\d+)\\.bin");
+
+    private final @NotNull Path directory;
+    private final int evaluatorVersion;
+    private final long maxBytes;
+    private final @NotNull LinkedHashMap<String, Entry> entries;
+    private long generation = 0;
+    private boolean loaded = false;
+    private boolean modified = false;
+
+    EvaluationStore(@NotNull Path directory, int evaluatorVersion, int maxEntries, long maxBytes) {
+        this.directory = directory;
+        this.evaluatorVersion = evaluatorVersion;
+        this.maxBytes = maxBytes;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return this.size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the decoded entry for the given key, discarding the store if it fails to decode.
+     */
+    @Nullable Entry.Data get(@NotNull String key) {
+        this.ensureLoaded();
+        Entry entry = this.entries.get(key);
+        if (entry == null) return null;
+
+        try {
+            return entry.getData();
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException exception) {
+            this.discard(exception);
+            return null;
+        }
+    }
+
+    boolean contains(@NotNull String key) {
+        this.ensureLoaded();
+        return this.entries.containsKey(key); // Does not count as an access
+    }
+
+    void put(@NotNull String key, @NotNull Entry.Data data) {
+        this.ensureLoaded();
+        this.entries.put(key, Entry.of(data));
+        this.modified = true;
+    }
+
+    void remove(@NotNull String key) {
+        this.ensureLoaded();
+
+        if (this.entries.remove(key) != null)
+            this.modified = true;
+    }
+
+    /**
+     * Removes the entries with a matching key that were stored for another file content hash.
+     *
+     * @param keys selects the entries of a single file
+     * @param fileHash the current content hash of that file
+     */
+    void removeOutdated(@NotNull Predicate<String> keys, long fileHash) {
+        this.ensureLoaded();
+        Iterator<Map.Entry<String, Entry>> iterator = this.entries.entrySet().iterator();
+
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> entry = iterator.next();
+            if (!keys.test(entry.getKey())) continue;
+
+            try {
+                if (entry.getValue().getData().fileHash() == fileHash) continue;
+            } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException ignored) { } // Undecodable, removed as well
+
+            iterator.remove();
+            this.modified = true;
+        }
+    }
+
+    void putPayload(@NotNull String key, byte[] payload) {
+        this.ensureLoaded();
+        this.entries.put(key, Entry.lazy(ByteBuffer.wrap(payload), 0, payload.length));
+        this.modified = true;
+    }
+
+    /**
+     * Returns the serialized payloads of all entries, least recently used first.
+     */
+    @NotNull Map<String, byte[]> getPayloads() {
+        this.ensureLoaded();
+        Map<String, byte[]> payloads = new LinkedHashMap<>();
+
+        try {
+            for (Map.Entry<String, Entry> entry : this.entries.entrySet())
+                payloads.put(entry.getKey(), entry.getValue().getPayload());
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException exception) {
+            this.discard(exception);
+            return Collections.emptyMap();
+        }
+
+        return payloads;
+    }
+
+    int size() {
+        this.ensureLoaded();
+        return this.entries.size();
+    }
+
+    /**
+     * Writes all entries to a new generation if anything changed since loading.
+     */
+    void save() {
+        if (!this.modified) return;
+        Map<String, byte[]> payloads = this.getPayloads();
+        List<Map.Entry<String, byte[]>> serialized = new ArrayList<>(payloads.entrySet());
+        long totalBytes = 0;
+
+        for (Map.Entry<String, byte[]> entry : serialized)
+            totalBytes += getSize(entry);
+
+        int start = 0;
+        while (totalBytes > this.maxBytes && start < serialized.size())
+            totalBytes -= getSize(serialized.get(start++));
+
+        try {
+            Files.createDirectories(this.directory);
+            long nextGeneration = this.generation + 1;
+            Path targetPath = this.getPath(nextGeneration);
+            Path tempPath = targetPath.resolveSibling(targetPath.getFileName() + ".tmp");
+
+            try (OutputStream outputStream = Files.newOutputStream(tempPath); DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeInt(this.evaluatorVersion);
+                output.writeInt(serialized.size() - start);
+
+                for (Map.Entry<String, byte[]> entry : serialized.subList(start, serialized.size())) {
+                    writeString(output, entry.getKey());
+                    output.writeInt(entry.getValue().length);
+                    output.write(entry.getValue());
+                }
+            }
+
+            Files.move(tempPath, targetPath, StandardCopyOption.ATOMIC_MOVE); // New name, never the mapped file
+            this.generation = nextGeneration;
+            this.modified = false;
+            this.deleteOlderGenerations();
+        } catch (IOException exception) {
+            LOG.warn("Unable to save resource path cache in " + this.directory, exception);
+        }
+    }
+
+    private void ensureLoaded() {
+        if (this.loaded) return;
+        this.loaded = true;
+        this.generation = this.findNewestGeneration();
+        Path storePath = this.getPath(this.generation);
+        if (this.generation == 0 || !Files.isRegularFile(storePath)) return;
+
+        try (FileChannel channel = FileChannel.open(storePath, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.getInt() != MAGIC) throw new IllegalArgumentException("Unsupported store format");
+
+            if (mapped.getInt() != VERSION || mapped.getInt() != this.evaluatorVersion) {
+                this.modified = true; // Written by another version, superseded by the next save
+                return;
+            }
+
+            int count = mapped.getInt();
+
+            for (int i = 0; i < count; i++) {
+                String key = readString(mapped);
+                int length = mapped.getInt();
+                if (length < 0 || length > mapped.remaining()) throw new IllegalArgumentException("Truncated entry " + key);
+                this.entries.put(key, Entry.lazy(mapped, mapped.position(), length));
+                mapped.position(mapped.position() + length);
+            }
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException exception) {
+            this.discard(exception);
+        }
+    }
+
+    /**
+     * Drops all entries after the store failed to parse, the next save writes an empty newer generation.
+     */
+    private void discard(@NotNull Exception exception) {
+        LOG.warn("Discarding corrupted resource path cache in " + this.directory, exception);
+        this.entries.clear();
+        this.modified = true;
+
+        try {
+            Files.deleteIfExists(this.getPath(this.generation));
+        } catch (IOException ignored) { } // Still mapped, superseded by the next generation
+    }
+
+    private long findNewestGeneration() {
+        long newest = 0;
+        if (!Files.isDirectory(this.directory)) return newest;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "evaluations.*.bin")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+
+                if (matcher.matches())
+                    newest = Math.max(newest, Long.parseLong(matcher.group(1)));
+            }
+        } catch (IOException | NumberFormatException exception) {
+            LOG.warn("Unable to list resource path cache in " + this.directory, exception);
+        }
+
+        return newest;
+    }
+
+    private void deleteOlderGenerations() {
+        try {
+            Files.deleteIfExists(this.directory.resolve("evaluations.bin")); // Single file store of the first format
+        } catch (IOException ignored) { }
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(this.directory, "evaluations.*.bin")) {
+            for (Path file : files) {
+                Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+
+                if (matcher.matches() && Long.parseLong(matcher.group(1)) < this.generation) {
+                    try {
+                        Files.deleteIfExists(file);
+                    } catch (IOException ignored) { } // Still mapped, removed after a later save
+                }
+            }
+        } catch (IOException | NumberFormatException ignored) { }
+    }
+
+    @NotNull Path getPath(long generation) {
+        return this.directory.resolve("evaluations." + generation + ".bin");
+    }
+
+    private static long getSize(@NotNull Map.Entry<String, byte[]> entry) {
+        return entry.getValue().length + entry.getKey().length() * 3L + 8;
+    }
+
+    static @NotNull String readString(@NotNull ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Invalid string length " + length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeString(@NotNull DataOutputStream output, @NotNull String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * A stored evaluation, either decoded or still pointing into the memory-mapped store.
+     */
+    static final class Entry {
+
+        private final @Nullable ByteBuffer source;
+        private final int offset;
+        private final int length;
+        private @Nullable Data data;
+
+        private Entry(@Nullable ByteBuffer source, int offset, int length, @Nullable Data data) {
+            this.source = source;
+            this.offset = offset;
+            this.length = length;
+            this.data = data;
+        }
+
+        static @NotNull Entry lazy(@NotNull ByteBuffer source, int offset, int length) {
+            return new Entry(source, offset, length, null);
+        }
+
+        static @NotNull Entry of(@NotNull Data data) {
+            return new Entry(null, 0, 0, data);
+        }
+
+        @NotNull Data getData() {
+            if (this.data == null)
+                this.data = Data.read(this.slice());
+
+            return this.data;
+        }
+
+        byte[] getPayload() {
+            if (this.data == null) {
+                byte[] bytes = new byte[this.length];
+                this.slice().get(bytes);
+                return bytes;
+            }
+
+            return this.data.write();
+        }
+
+        private @NotNull ByteBuffer slice() {
+            return this.source.duplicate().position(this.offset).limit(this.offset + this.length).slice();
+        }
+
+        /**
+         * @param fileHash the content hash of the file containing the expression
+         * @param dependencies the content hashes of the files the evaluation resolved into, keyed by relative path
+         * @param values the evaluated values
+         */
+        record Data(long fileHash, @NotNull Map<String, Long> dependencies, @NotNull Set<String> values) {
+
+            static @NotNull Data read(@NotNull ByteBuffer buffer) {
+                long fileHash = buffer.getLong();
+                int dependencyCount = buffer.getInt();
+                Map<String, Long> dependencies = new LinkedHashMap<>();
+
+                for (int i = 0; i < dependencyCount; i++)
+                    dependencies.put(readString(buffer), buffer.getLong());
+
+                int valueCount = buffer.getInt();
+                Set<String> values = new LinkedHashSet<>();
+
+                for (int i = 0; i < valueCount; i++)
+                    values.add(readString(buffer));
+
+                return new Data(fileHash, dependencies, Collections.unmodifiableSet(values));
+            }
+
+            byte[] write() {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+                try (DataOutputStream output = new DataOutputStream(bytes)) {
+                    output.writeLong(this.fileHash);
+                    output.writeInt(this.dependencies.size());
+
+                    for (Map.Entry<String, Long> dependency : this.dependencies.entrySet()) {
+                        writeString(output, dependency.getKey());
+                        output.writeLong(dependency.getValue());
+                    }
+
+                    output.writeInt(this.values.size());
+
+                    for (String value : this.values)
+                        writeString(output, value);
+                } catch (IOException exception) {
+                    throw new IllegalStateException(exception);
+                }
+
+                return bytes.toByteArray();
+            }
+
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.Messages;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Exports the resource path analysis of the checked out commit into a shareable chunk.
+ *
+ * @see ResourcePathIndexChunks
+ */
+final class ExportResourcePathChunkAction extends AnAction {
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent event) {
+        Project project = event.getProject();
+        if (project == null) return;
+
+        new Task.Backgroundable(project, "Exporting resource path index chunk", true) {
+
+            private @Nullable Path chunkPath;
+            private @Nullable IOException failure;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                try {
+                    this.chunkPath = ResourcePathIndexChunks.getInstance(project).export();
+                } catch (IOException exception) {
+                    this.failure = exception;
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (this.failure != null)
+                    Messages.showErrorDialog(project, this.failure.getMessage(), "Resource Path Index");
+                else
+                    Messages.showInfoMessage(project, "Exported " + this.chunkPath, "Resource Path Index");
+            }
+
+        }.queue();
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent event) {
+        event.getPresentation().setEnabled(event.getProject() != null);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+}
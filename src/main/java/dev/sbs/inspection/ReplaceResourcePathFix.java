@@ -0,0 +1,40 @@
+package dev.sbs.inspection;
+
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.openapi.project.Project;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiLiteralExpression;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Replaces a missing literal resource path with an existing path suggested by the {@link ResourcePathFuzzyIndex}.
+ */
+final class ReplaceResourcePathFix implements LocalQuickFix {
+
+    private final @NotNull String value;
+
+    ReplaceResourcePathFix(@NotNull String value) {
+        this.value = value;
+    }
+
+    @Override
+    public @NotNull String getName() {
+        return "Replace with '" + this.value + "'";
+    }
+
+    @Override
+    public @NotNull String getFamilyName() {
+        return "Replace resource path";
+    }
+
+    @Override
+    public void applyFix(@NotNull Project project, @NotNull ProblemDescriptor descriptor) {
+        PsiElement element = descriptor.getPsiElement();
+
+        if (element instanceof PsiLiteralExpression literal && literal.getValue() instanceof String)
+            ElementManipulators.handleContentChange(literal, this.value);
+    }
+
+}
@@ -0,0 +1,12 @@
+package dev.sbs.inspection;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single value an expression annotated with {@code ResourcePath} resolves to.
+ *
+ * @param value the evaluated string value
+ * @param path the full resource path, including the annotation's base folder
+ * @param exists whether the resource exists under one of the resource roots
+ */
+public record ResolvedResourcePath(@NotNull String value, @NotNull String path, boolean exists) { }
@@ -0,0 +1,214 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.util.SimpleModificationTracker;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-project table of annotation classes carrying {@code ResourcePath} semantics.
+ * <p>
+ * Besides {@code ResourcePath} itself, every annotation class that is (transitively) meta-annotated
+ * with it is recognized, using the meta-annotation's {@code base} as preset base folder:
+ *
+ * <pre><code>
+ *   &#64;ResourcePath(base = "textures")
+ *   public &#64;interface TextureAsset { }
+ * </code></pre>
+ *
+ * Annotations are matched by short name first and only resolved on a hit, keeping the check for
+ * unrelated annotations resolve-free. The table is rebuilt when an annotation declaration or the
+ * project roots change.
+ */
+@Service(Service.Level.PROJECT)
+final class ResourcePathAnnotations {
+
+    static final @NotNull String ANNOTATION_PATH = "dev.sbs.annotation.ResourcePath";
+    static final @NotNull String ANNOTATION_NAME = "ResourcePath";
+    private static final @NotNull Key<CachedValue<Table>> TABLE_KEY = Key.create("dev.sbs.inspection.ResourcePathAnnotations.table");
+    private static final @NotNull Table DEFAULT_TABLE = new Table(
+        Collections.singletonMap(ANNOTATION_NAME, Collections.singletonMap(ANNOTATION_PATH, ""))
+    );
+
+    private final @NotNull SimpleModificationTracker declarationTracker = new SimpleModificationTracker();
+    private final @NotNull Project project;
+
+    public ResourcePathAnnotations(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static @NotNull ResourcePathAnnotations getInstance(@NotNull Project project) {
+        return project.getService(ResourcePathAnnotations.class);
+    }
+
+    /**
+     * Invalidates the table after an annotation declaration changed.
+     */
+    public void dropCaches() {
+        this.declarationTracker.incModificationCount();
+    }
+
+    /**
+     * Finds the first annotation with {@code ResourcePath} semantics on the given element.
+     *
+     * @param owner the annotated element
+     * @return the annotation, or null if none
+     */
+    public @Nullable PsiAnnotation findAnnotation(@Nullable PsiModifierListOwner owner) {
+        return owner == null ? null : this.findAnnotation(owner.getModifierList());
+    }
+
+    /**
+     * Finds the first annotation with {@code ResourcePath} semantics in the given modifier list.
+     *
+     * @param modifierList the modifier list to check
+     * @return the annotation, or null if none
+     */
+    public @Nullable PsiAnnotation findAnnotation(@Nullable PsiModifierList modifierList) {
+        if (modifierList == null) return null;
+        PsiAnnotation[] annotations = modifierList.getAnnotations();
+        if (annotations.length == 0) return null;
+        Table table = this.getTable();
+
+        for (PsiAnnotation annotation : annotations) {
+            if (table.matches(annotation))
+                return annotation;
+        }
+
+        return null;
+    }
+
+    public boolean isResourcePathAnnotation(@NotNull PsiAnnotation annotation) {
+        return this.getTable().matches(annotation);
+    }
+
+    public boolean fileContainsResourcePathUsage(@NotNull PsiFile file) {
+        Table table = this.getTable();
+
+        return PsiTreeUtil.findChildrenOfType(file, PsiAnnotation.class)
+            .stream()
+            .anyMatch(table::matches);
+    }
+
+    /**
+     * Retrieves the base folder of the given annotation. A literal {@code base} attribute declared
+     * on the annotation takes precedence over the base preset by a meta-annotation.
+     *
+     * @param annotation the annotation with {@code ResourcePath} semantics
+     * @return the base folder path or empty string if none specified
+     */
+    public @NotNull String getBaseFolder(@NotNull PsiAnnotation annotation) {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("base");
+
+        if (value instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue)
+            return strValue;
+
+        String presetBase = this.getTable().getPresetBase(annotation);
+        return presetBase == null ? "" : presetBase;
+    }
+
+    /**
+     * Returns the qualified names of all annotation classes with {@code ResourcePath} semantics.
+     */
+    public @NotNull Set<String> getQualifiedNames() {
+        return this.getTable().presetBases().keySet();
+    }
+
+    private @NotNull Table getTable() {
+        if (DumbService.isDumb(this.project)) return DEFAULT_TABLE;
+
+        return CachedValuesManager.getManager(this.project).getCachedValue(this.project, TABLE_KEY, () -> CachedValueProvider.Result.create(
+            this.buildTable(),
+            this.declarationTracker,
+            ProjectRootManager.getInstance(this.project),
+            DumbService.getInstance(this.project).getModificationTracker()
+        ), false);
+    }
+
+    /**
+     * Searches all annotation classes meta-annotated with {@code ResourcePath}, including nested meta-annotations.
+     */
+    private @NotNull Table buildTable() {
+        Map<String, String> presetBases = new HashMap<>();
+        presetBases.put(ANNOTATION_PATH, "");
+        GlobalSearchScope scope = GlobalSearchScope.allScope(this.project);
+        PsiClass rootClass = JavaPsiFacade.getInstance(this.project).findClass(ANNOTATION_PATH, scope);
+        Deque<PsiClass> queue = new ArrayDeque<>();
+        if (rootClass != null) queue.add(rootClass);
+
+        while (!queue.isEmpty()) {
+            PsiClass metaAnnotation = queue.poll();
+
+            for (PsiClass annotationClass : AnnotatedElementsSearch.searchPsiClasses(metaAnnotation, scope)) {
+                String qualifiedName = annotationClass.getQualifiedName();
+                if (!annotationClass.isAnnotationType() || qualifiedName == null || presetBases.containsKey(qualifiedName)) continue;
+                PsiAnnotation annotation = annotationClass.getAnnotation(metaAnnotation.getQualifiedName());
+                presetBases.put(qualifiedName, annotation == null ? "" : this.getBaseFolder(annotation, presetBases));
+                queue.add(annotationClass);
+            }
+        }
+
+        Map<String, Map<String, String>> byShortName = new HashMap<>();
+
+        for (Map.Entry<String, String> entry : presetBases.entrySet()) {
+            String shortName = entry.getKey().substring(entry.getKey().lastIndexOf('.') + 1);
+            byShortName.computeIfAbsent(shortName, key -> new HashMap<>()).put(entry.getKey(), entry.getValue());
+        }
+
+        return new Table(byShortName);
+    }
+
+    private @NotNull String getBaseFolder(@NotNull PsiAnnotation annotation, @NotNull Map<String, String> presetBases) {
+        PsiAnnotationMemberValue value = annotation.findDeclaredAttributeValue("base");
+
+        if (value instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue)
+            return strValue;
+
+        return presetBases.getOrDefault(annotation.getQualifiedName(), "");
+    }
+
+    /**
+     * @param byShortName the preset base folders keyed by short name, then qualified name
+     */
+    private record Table(@NotNull Map<String, Map<String, String>> byShortName) {
+
+        boolean matches(@NotNull PsiAnnotation annotation) {
+            return this.getPresetBase(annotation) != null;
+        }
+
+        @Nullable String getPresetBase(@NotNull PsiAnnotation annotation) {
+            PsiJavaCodeReferenceElement reference = annotation.getNameReferenceElement();
+            if (reference == null) return null;
+            Map<String, String> candidates = this.byShortName.get(reference.getReferenceName());
+            if (candidates == null) return null; // Short name miss, no resolve required
+            String qualifiedName = annotation.getQualifiedName();
+            return qualifiedName == null ? null : candidates.get(qualifiedName);
+        }
+
+        @NotNull Map<String, String> presetBases() {
+            Map<String, String> presetBases = new HashMap<>();
+            this.byShortName.values().forEach(presetBases::putAll);
+            return presetBases;
+        }
+
+    }
+
+}
@@ -9,7 +9,6 @@ import com.intellij.psi.util.PsiTreeUtil;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -17,11 +16,12 @@ import java.util.Set;
 @Service(Service.Level.PROJECT)
 final class ResourcePathChangeService {
 
-    private final @NotNull String annotationPath = "dev.sbs.annotation.ResourcePath";
     private final @NotNull Project project;
+    private final @NotNull ResourcePathAnnotations annotations;
 
     public ResourcePathChangeService(@NotNull Project project) {
         this.project = project;
+        this.annotations = ResourcePathAnnotations.getInstance(project);
         PsiManager.getInstance(project).addPsiTreeChangeListener(this.getListenerAdapter(), project.getMessageBus().connect());
     }
 
@@ -32,6 +32,7 @@ final class ResourcePathChangeService {
 
             @Override
             public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+                invalidateCaches(event);
                 collectAffectedFile(event.getNewChild());
                 collectAffectedFile(event.getOldChild());
                 restartAffectedFiles();
@@ -39,21 +40,35 @@ final class ResourcePathChangeService {
 
             @Override
             public void childAdded(@NotNull PsiTreeChangeEvent event) {
+                invalidateCaches(event);
                 collectAffectedFile(event.getChild());
                 restartAffectedFiles();
             }
 
             @Override
             public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+                invalidateCaches(event);
                 collectAffectedFile(event.getOldChild());
                 restartAffectedFiles();
             }
 
             @Override
             public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+                invalidateCaches(event);
                 PsiElement parent = event.getParent();
                 if (parent == null || !parent.isValid()) return;
-                if (DumbService.isDumb(project)) return;
+
+                if (DumbService.isDumb(project)) {
+                    // Dumb mode: only the same-file subset is validated, restart on any annotated file
+                    PsiFile containingFile = parent.getContainingFile();
+
+                    if (containingFile != null && this.fileContainsResourcePathName(containingFile)) {
+                        filesToRestart.add(containingFile);
+                        restartAffectedFiles();
+                    }
+
+                    return;
+                }
 
                 // Early exit: Only process if we're in a file that contains ResourcePath annotations
                 PsiFile containingFile = parent.getContainingFile();
@@ -74,6 +89,33 @@ final class ResourcePathChangeService {
                 restartAffectedFiles();
             }
 
+            /**
+             * Invalidates the usage index entries of the file the event happened in, and the
+             * annotation table if an annotation declaration or a whole file changed
+             */
+            private void invalidateCaches(@NotNull PsiTreeChangeEvent event) {
+                PsiFile file = event.getFile();
+
+                if (file == null && event.getChild() instanceof PsiFile childFile) {
+                    file = childFile;
+                    annotations.dropCaches();
+                } else if (isInAnnotationDeclaration(event.getParent()) || isClassDeclaration(event.getChild()) || isClassDeclaration(event.getOldChild()))
+                    annotations.dropCaches();
+
+                if (file instanceof PsiJavaFile && file.getVirtualFile() != null)
+                    ResourcePathUsageIndex.getInstance(project).markDirty(file.getVirtualFile());
+            }
+
+            private boolean isClassDeclaration(@Nullable PsiElement element) {
+                return element instanceof PsiClass && !(element instanceof PsiAnonymousClass) && !(element instanceof PsiTypeParameter);
+            }
+
+            private boolean isInAnnotationDeclaration(@Nullable PsiElement element) {
+                if (element == null || !element.isValid()) return false;
+                PsiClass psiClass = PsiTreeUtil.getParentOfType(element, PsiClass.class, false);
+                return psiClass != null && psiClass.isAnnotationType();
+            }
+
             /**
              * Checks if the given element or its ancestors are relevant to ResourcePath processing
              */
@@ -126,21 +168,24 @@ final class ResourcePathChangeService {
             }
 
             private boolean hasResourcePathAnnotation(@Nullable PsiModifierList modifierList) {
-                if (modifierList == null) return false;
-
-                return Arrays.stream(modifierList.getAnnotations())
-                    .anyMatch(anno -> annotationPath.equals(anno.getQualifiedName()));
+                return annotations.findAnnotation(modifierList) != null;
             }
 
             private void collectAffectedFile(@Nullable PsiElement element) {
                 if (!(element instanceof PsiLiteralExpression literal)) return;
                 if (!(literal.getValue() instanceof String)) return;
-                if (DumbService.isDumb(project)) return;
 
                 try {
                     PsiFile file = literal.getContainingFile();
                     if (file == null) return;
 
+                    if (DumbService.isDumb(project)) {
+                        if (this.fileContainsResourcePathName(file))
+                            filesToRestart.add(file);
+
+                        return;
+                    }
+
                     // Climb up to enclosing method or field
                     PsiMethod enclosingMethod = PsiTreeUtil.getParentOfType(literal, PsiMethod.class);
                     PsiField enclosingField = PsiTreeUtil.getParentOfType(literal, PsiField.class);
@@ -170,10 +215,17 @@ final class ResourcePathChangeService {
                 this.filesToRestart.clear();
             }
 
-            private boolean fileContainsResourcePathUsage(@NotNull PsiFile file) {
+            /**
+             * Matches annotations by short name only, safe to call during dumb mode
+             */
+            private boolean fileContainsResourcePathName(@NotNull PsiFile file) {
                 return PsiTreeUtil.findChildrenOfType(file, PsiAnnotation.class)
                     .stream()
-                    .anyMatch(anno -> annotationPath.equals(anno.getQualifiedName()));
+                    .anyMatch(DumbResourcePathVisitor::isResourcePathAnnotation);
+            }
+
+            private boolean fileContainsResourcePathUsage(@NotNull PsiFile file) {
+                return annotations.fileContainsResourcePathUsage(file);
             }
 
         };
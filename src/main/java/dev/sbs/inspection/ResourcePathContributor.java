@@ -0,0 +1,52 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.extensions.ExtensionPointName;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.uast.UExpression;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Extension point for plugins that contribute additional resource roots or string values
+ * to the {@code ResourcePath} analysis.
+ * <p>
+ * Register implementations under {@code dev.sbs.simplified-annotations.resourcePathContributor}.
+ * Contributors that do not implement {@link com.intellij.openapi.project.DumbAware} are skipped
+ * while the project is being indexed.
+ *
+ * <pre><code>
+ *   &lt;extensions defaultExtensionNs="dev.sbs.simplified-annotations"&gt;
+ *       &lt;resourcePathContributor implementation="com.example.RegistryPathContributor"/&gt;
+ *   &lt;/extensions&gt;
+ * </code></pre>
+ */
+public interface ResourcePathContributor {
+
+    @NotNull ExtensionPointName<ResourcePathContributor> EP_NAME = ExtensionPointName.create("dev.sbs.simplified-annotations.resourcePathContributor");
+
+    /**
+     * Provides directories, in addition to the project's source roots, under which resource paths are resolved.
+     *
+     * @param project the project being analyzed
+     * @return the additional resource roots
+     */
+    default @NotNull Collection<VirtualFile> getResourceRoots(@NotNull Project project) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Resolves the possible string values of an expression the built-in evaluator could not resolve,
+     * for example a lookup in a custom registry.
+     *
+     * @param expression the unresolved expression
+     * @return the possible values, or an empty set if unknown
+     */
+    default @NotNull Set<String> resolveValues(@NotNull UExpression expression) {
+        return Collections.emptySet();
+    }
+
+}
@@ -0,0 +1,255 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.util.io.FileUtil;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.util.PsiUtilCore;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists evaluated {@code ResourcePath} values across IDE restarts.
+ * <p>
+ * Each entry is keyed by the project-relative location and element type of the evaluated
+ * expression and is only valid while the content hash of its file and of every file the
+ * evaluation resolved into are unchanged. A file only keeps the entries of its latest content,
+ * storing an entry for new content drops the entries stored for the previous one. Evaluations
+ * resolving into library classes are not persisted, since a library version change would go
+ * unnoticed. Entries are kept in an {@link EvaluationStore} in the IDE system directory, stores
+ * written by another {@link #EVALUATOR_VERSION} are discarded.
+ */
+@Service(Service.Level.PROJECT)
+final class ResourcePathDiskCache implements Disposable {
+
+    static final int EVALUATOR_VERSION = 1; // Bump whenever a change to the evaluation changes its values
+    private static final int MAX_ENTRIES = 50_000;
+    private static final long MAX_BYTES = 32L * 1024 * 1024;
+
+    private final @NotNull Project project;
+    private final @NotNull EvaluationStore store;
+    private final @NotNull Map<VirtualFile, long[]> contentHashes = new ConcurrentHashMap<>();
+    private final @NotNull Map<String, Long> storedHashes = new HashMap<>(); // Guarded by this
+
+    public ResourcePathDiskCache(@NotNull Project project) {
+        this.project = project;
+        this.store = new EvaluationStore(Path.of(PathManager.getSystemPath(), "simplified-annotations", project.getLocationHash()), EVALUATOR_VERSION, MAX_ENTRIES, MAX_BYTES);
+    }
+
+    public static @NotNull ResourcePathDiskCache getInstance(@NotNull Project project) {
+        return project.getService(ResourcePathDiskCache.class);
+    }
+
+    /**
+     * Returns the stored values of the given expression if neither its file nor any of its dependencies changed.
+     *
+     * @param expression the evaluated expression
+     * @return the stored evaluation, or null if absent or outdated
+     */
+    public @Nullable ResourcePathResolver.Evaluation get(@NotNull PsiElement expression) {
+        String key = this.getSiteKey(expression);
+        if (key == null) return null;
+        EvaluationStore.Entry.Data data;
+
+        synchronized (this) {
+            data = this.store.get(key);
+        }
+
+        if (data == null) return null;
+        Set<VirtualFile> dependencies = this.getValidDependencies(expression.getContainingFile().getVirtualFile(), data);
+        return dependencies == null ? null : new ResourcePathResolver.Evaluation(data.values(), dependencies);
+    }
+
+    /**
+     * Stores the evaluated values of the given expression.
+     *
+     * @param expression the evaluated expression
+     * @param values the evaluated values
+     * @param dependencies the files the evaluation resolved into
+     */
+    public void put(@NotNull PsiElement expression, @NotNull Set<String> values, @NotNull Set<PsiFile> dependencies) {
+        String key = this.getSiteKey(expression);
+        if (key == null) return;
+        Map<String, Long> dependencyHashes = new LinkedHashMap<>();
+
+        for (PsiFile dependency : dependencies) {
+            VirtualFile file = dependency.getVirtualFile();
+            String path = file == null ? null : this.getRelativePath(file);
+
+            if (path == null) { // Library constants change with the library version, evaluated again next session
+                dependencyHashes = null;
+                break;
+            }
+
+            dependencyHashes.put(path, this.getContentHash(file));
+        }
+
+        String path = getPath(key);
+        long fileHash = this.getContentHash(expression.getContainingFile().getVirtualFile());
+
+        synchronized (this) { // Hashed before locking, hashing a large file must not block other threads
+            if (dependencyHashes == null) {
+                this.store.remove(key);
+                return;
+            }
+
+            Long storedHash = this.storedHashes.put(path, fileHash);
+
+            if (storedHash == null || storedHash != fileHash) // Offsets of the previous content never match again
+                this.store.removeOutdated(storedKey -> path.equals(getPath(storedKey)), fileHash);
+
+            this.store.put(key, new EvaluationStore.Entry.Data(fileHash, dependencyHashes, values));
+        }
+    }
+
+    /**
+     * Returns the serialized payloads of all stored entries that are still valid, keyed by project-relative site.
+     * <p>
+     * Must be called from a read action, entries are validated against the current file contents.
+     */
+    synchronized @NotNull Map<String, byte[]> exportEntries() {
+        Map<String, byte[]> payloads = this.store.getPayloads();
+
+        payloads.keySet().removeIf(key -> {
+            ProgressManager.checkCanceled();
+            return !this.isValid(key);
+        });
+
+        return payloads;
+    }
+
+    /**
+     * Adds serialized entries exported on another machine, keeping local entries that are still valid.
+     * <p>
+     * Local entries outdated by a branch switch are replaced by the imported ones. Imported entries
+     * are validated like any other entry, so sites whose files differ from the exported state are
+     * simply evaluated again.
+     *
+     * @param payloads the serialized payloads keyed by project-relative site
+     * @return the number of imported entries
+     */
+    synchronized int importEntries(@NotNull Map<String, byte[]> payloads) {
+        int imported = 0;
+
+        for (Map.Entry<String, byte[]> payload : payloads.entrySet()) {
+            if (this.isValid(payload.getKey())) continue;
+            this.store.putPayload(payload.getKey(), payload.getValue());
+            imported++;
+        }
+
+        return imported;
+    }
+
+    @Override
+    public synchronized void dispose() {
+        this.store.save();
+    }
+
+    /**
+     * Checks whether a valid local entry is stored for the given site key.
+     */
+    private boolean isValid(@NotNull String key) {
+        if (!this.store.contains(key)) return false;
+        EvaluationStore.Entry.Data data = this.store.get(key);
+        String path = getPath(key);
+        if (data == null || path == null) return false;
+        return this.getValidDependencies(this.findFile(path), data) != null;
+    }
+
+    /**
+     * Resolves the dependencies of a stored entry, excluding its own file.
+     *
+     * @return the dependencies, or null if the file or any dependency changed since the entry was stored
+     */
+    private @Nullable Set<VirtualFile> getValidDependencies(@Nullable VirtualFile ownFile, @NotNull EvaluationStore.Entry.Data data) {
+        if (ownFile == null || data.fileHash() != this.getContentHash(ownFile)) return null;
+        Set<VirtualFile> dependencies = new LinkedHashSet<>();
+
+        for (Map.Entry<String, Long> dependency : data.dependencies().entrySet()) {
+            VirtualFile file = this.findFile(dependency.getKey());
+            if (file == null || this.getContentHash(file) != dependency.getValue()) return null;
+
+            if (!file.equals(ownFile))
+                dependencies.add(file);
+        }
+
+        return Collections.unmodifiableSet(dependencies);
+    }
+
+    /**
+     * Builds the project-relative key of an expression, or null if it is not part of the project.
+     * <p>
+     * Nested expressions may start at the same offset, such as {@code m() + "x"} and {@code m()},
+     * so the key includes the full range and the element type.
+     */
+    private @Nullable String getSiteKey(@NotNull PsiElement expression) {
+        PsiFile file = expression.getContainingFile();
+        if (file == null || file.getVirtualFile() == null) return null;
+        String path = this.getRelativePath(file.getVirtualFile());
+        TextRange range = expression.getTextRange();
+        return path == null ? null : path + "#" + range.getStartOffset() + "-" + range.getEndOffset() + "#" + PsiUtilCore.getElementType(expression);
+    }
+
+    /**
+     * Extracts the project-relative file path of a site key, or null if the key is malformed.
+     */
+    private static @Nullable String getPath(@NotNull String key) {
+        int typeIndex = key.lastIndexOf('#');
+        int rangeIndex = typeIndex <= 0 ? -1 : key.lastIndexOf('#', typeIndex - 1);
+        return rangeIndex < 0 ? null : key.substring(0, rangeIndex);
+    }
+
+    private @Nullable String getRelativePath(@NotNull VirtualFile file) {
+        String basePath = this.project.getBasePath();
+        if (basePath == null || !file.isInLocalFileSystem()) return null;
+        String relativePath = FileUtil.getRelativePath(basePath, file.getPath(), '/');
+        return relativePath == null || relativePath.startsWith("..") ? null : relativePath;
+    }
+
+    private @Nullable VirtualFile findFile(@NotNull String relativePath) {
+        String basePath = this.project.getBasePath();
+        return basePath == null ? null : LocalFileSystem.getInstance().findFileByPath(basePath + "/" + relativePath);
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of the current file content, including unsaved changes.
+     */
+    long getContentHash(@Nullable VirtualFile file) {
+        if (file == null || !file.isValid()) return 0;
+        Document document = FileDocumentManager.getInstance().getCachedDocument(file);
+        long stamp = document != null ? document.getModificationStamp() : file.getModificationStamp();
+        long[] cached = this.contentHashes.get(file);
+        if (cached != null && cached[0] == stamp) return cached[1];
+
+        CharSequence text = document != null ? document.getImmutableCharSequence() : LoadTextUtil.loadText(file);
+        long hash = 0xcbf29ce484222325L;
+
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        this.contentHashes.put(file, new long[] { stamp, hash });
+        return hash;
+    }
+
+}
@@ -0,0 +1,207 @@
+package dev.sbs.inspection;
+
+import com.intellij.codeInspection.InspectionManager;
+import com.intellij.codeInspection.LocalQuickFix;
+import com.intellij.codeInspection.ProblemDescriptor;
+import com.intellij.codeInspection.ProblemHighlightType;
+import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.QuickFix;
+import com.intellij.lang.annotation.AnnotationBuilder;
+import com.intellij.lang.annotation.AnnotationHolder;
+import com.intellij.lang.annotation.ExternalAnnotator;
+import com.intellij.lang.annotation.HighlightSeverity;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.*;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Background mode of the {@link ResourcePathInspection}, enabled by its analysis mode option.
+ * <p>
+ * Phase one runs in the highlighting pass and only collects candidate sites from the file's PSI,
+ * without resolving or evaluating anything. Phase two evaluates these sites and checks resource
+ * existence in a cancellable non-blocking read action, so slow resolution no longer delays other
+ * highlights of the file. Problems are applied once the analysis completes.
+ */
+final class ResourcePathExternalAnnotator extends ExternalAnnotator<ResourcePathExternalAnnotator.Sites, List<ProblemDescriptor>> {
+
+    @Override
+    public @Nullable Sites collectInformation(@NotNull PsiFile file, @NotNull Editor editor, boolean hasErrors) {
+        if (!(file instanceof PsiJavaFile)) return null;
+        ResourcePathInspection inspection = getBackgroundInspection(file);
+        if (inspection == null) return null;
+
+        ResourcePathAnnotations annotations = ResourcePathAnnotations.getInstance(file.getProject());
+        Sites sites = new Sites(file, inspection);
+        Set<PsiMethod> literalMethods = new HashSet<>();
+
+        file.accept(new JavaRecursiveElementWalkingVisitor() {
+
+            @Override
+            public void visitEnumConstant(@NotNull PsiEnumConstant enumConstant) {
+                if (enumConstant.getArgumentList() != null && !enumConstant.getArgumentList().isEmpty())
+                    sites.enumConstants().add(enumConstant);
+
+                super.visitEnumConstant(enumConstant);
+            }
+
+            @Override
+            public void visitField(@NotNull PsiField field) {
+                if (field.getInitializer() != null && annotations.findAnnotation(field) != null)
+                    sites.fields().add(field);
+
+                super.visitField(field);
+            }
+
+            @Override
+            public void visitLiteralExpression(@NotNull PsiLiteralExpression expression) {
+                PsiMethod method = getEnclosingMethod(expression);
+
+                // One literal per method is enough to inspect its usages
+                if (method != null && literalMethods.add(method))
+                    sites.literals().add(expression);
+            }
+
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                sites.methodCalls().add(expression);
+                super.visitMethodCallExpression(expression);
+            }
+
+        });
+
+        return sites.isEmpty() ? null : sites;
+    }
+
+    @Override
+    public @Nullable List<ProblemDescriptor> doAnnotate(@NotNull Sites sites) {
+        return ReadAction.nonBlocking(() -> this.analyze(sites)).executeSynchronously();
+    }
+
+    @Override
+    public void apply(@NotNull PsiFile file, @Nullable List<ProblemDescriptor> problems, @NotNull AnnotationHolder holder) {
+        if (problems == null) return;
+        HighlightSeverity defaultSeverity = ResourcePathVisitor.getSeverity(file, ResourcePathInspection.SHORT_NAME);
+
+        for (ProblemDescriptor problem : problems) {
+            PsiElement element = problem.getPsiElement();
+            if (element == null || !element.isValid()) continue;
+
+            AnnotationBuilder builder = holder.newAnnotation(toSeverity(problem.getHighlightType(), defaultSeverity), problem.getDescriptionTemplate())
+                .range(element)
+                .highlightType(problem.getHighlightType());
+
+            if (problem.getFixes() != null) {
+                for (QuickFix<?> fix : problem.getFixes()) {
+                    if (fix instanceof LocalQuickFix localFix)
+                        builder = builder.newLocalQuickFix(localFix, problem).registerFix();
+                }
+            }
+
+            builder.create();
+        }
+    }
+
+    /**
+     * Evaluates the collected sites with the same visitor the inline mode uses, dropping suppressed problems.
+     */
+    private @NotNull List<ProblemDescriptor> analyze(@NotNull Sites sites) {
+        PsiFile file = sites.file();
+        if (!file.isValid()) return Collections.emptyList();
+
+        ProblemsHolder holder = new ProblemsHolder(InspectionManager.getInstance(file.getProject()), file, true);
+        ResourcePathVisitor resourcePathVisitor = new ResourcePathVisitor(sites.inspection(), holder, sites.inspection().baseHighlightType);
+
+        for (PsiEnumConstant enumConstant : sites.enumConstants()) {
+            ProgressManager.checkCanceled();
+            if (enumConstant.isValid()) resourcePathVisitor.inspectEnumArguments(enumConstant);
+        }
+
+        for (PsiField field : sites.fields()) {
+            ProgressManager.checkCanceled();
+            if (field.isValid()) resourcePathVisitor.inspectField(field);
+        }
+
+        for (PsiMethodCallExpression methodCall : sites.methodCalls()) {
+            ProgressManager.checkCanceled();
+            if (methodCall.isValid()) resourcePathVisitor.inspectMethod(methodCall);
+        }
+
+        for (PsiLiteralExpression literal : sites.literals()) {
+            ProgressManager.checkCanceled();
+            if (literal.isValid()) resourcePathVisitor.inspectLiteral(literal);
+        }
+
+        // Annotations bypass the inspection framework, honor @SuppressWarnings and suppression comments here
+        List<ProblemDescriptor> problems = new ArrayList<>();
+
+        for (ProblemDescriptor problem : holder.getResults()) {
+            PsiElement element = problem.getPsiElement();
+
+            if (element != null && !sites.inspection().isSuppressedFor(element))
+                problems.add(problem);
+        }
+
+        return problems;
+    }
+
+    /**
+     * Returns the enabled inspection instance for the given file if it is configured for background analysis.
+     */
+    private static @Nullable ResourcePathInspection getBackgroundInspection(@NotNull PsiFile file) {
+        ResourcePathInspection inspection = ResourcePathInspection.getEnabledInstance(file);
+        return inspection != null && inspection.analysisMode == ResourcePathInspection.AnalysisMode.BACKGROUND ? inspection : null;
+    }
+
+    private static @NotNull HighlightSeverity toSeverity(@NotNull ProblemHighlightType highlightType, @NotNull HighlightSeverity defaultSeverity) {
+        return switch (highlightType) {
+            case ERROR, GENERIC_ERROR -> HighlightSeverity.ERROR;
+            case WARNING -> HighlightSeverity.WARNING;
+            case WEAK_WARNING -> HighlightSeverity.WEAK_WARNING;
+            case INFORMATION -> HighlightSeverity.INFORMATION;
+            default -> defaultSeverity;
+        };
+    }
+
+    private static @Nullable PsiMethod getEnclosingMethod(@NotNull PsiElement element) {
+        PsiElement current = element.getParent();
+
+        while (current != null && !(current instanceof PsiFile)) {
+            if (current instanceof PsiMethod method) return method;
+            current = current.getParent();
+        }
+
+        return null;
+    }
+
+    /**
+     * Candidate sites collected in phase one.
+     */
+    record Sites(
+        @NotNull PsiFile file,
+        @NotNull ResourcePathInspection inspection,
+        @NotNull List<PsiEnumConstant> enumConstants,
+        @NotNull List<PsiField> fields,
+        @NotNull List<PsiMethodCallExpression> methodCalls,
+        @NotNull List<PsiLiteralExpression> literals
+    ) {
+
+        Sites(@NotNull PsiFile file, @NotNull ResourcePathInspection inspection) {
+            this(file, inspection, new ArrayList<>(), new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        boolean isEmpty() {
+            return this.enumConstants.isEmpty() && this.fields.isEmpty() && this.methodCalls.isEmpty() && this.literals.isEmpty();
+        }
+
+    }
+
+}
@@ -0,0 +1,228 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ModuleRootEvent;
+import com.intellij.openapi.roots.ModuleRootListener;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.vfs.newvfs.BulkFileListener;
+import com.intellij.openapi.vfs.newvfs.events.VFileCopyEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileCreateEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileDeleteEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFileMoveEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.messages.MessageBusConnection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Suggests existing paths for a missing resource from a {@link ResourcePathTrigramIndex} over the
+ * files below the resource roots.
+ * <p>
+ * The index is built in a cancellable background read action scheduled on project open and after
+ * root changes, no suggestions are offered until it is ready. File system events update the ready
+ * index incrementally, events arriving while it is built are queued and replayed on top of it, so
+ * files deleted during a build never linger in the index. A failed or cancelled build drops the
+ * queue, the index is built again on the next root change.
+ */
+@Service(Service.Level.PROJECT)
+final class ResourcePathFuzzyIndex implements Disposable {
+
+    private final @NotNull Project project;
+    private final @NotNull List<Consumer<ResourcePathTrigramIndex>> pendingChanges = new ArrayList<>();
+    private @Nullable ResourcePathTrigramIndex index;
+    private boolean building = false;
+    private int generation = 0;
+
+    public ResourcePathFuzzyIndex(@NotNull Project project) {
+        this.project = project;
+        MessageBusConnection connection = project.getMessageBus().connect(this);
+
+        connection.subscribe(VirtualFileManager.VFS_CHANGES, new BulkFileListener() {
+
+            @Override
+            public void before(@NotNull List<? extends @NotNull VFileEvent> events) {
+                List<VirtualFile> removed = new ArrayList<>();
+
+                for (VFileEvent event : events) {
+                    if (event instanceof VFileDeleteEvent || event instanceof VFileMoveEvent || isRename(event))
+                        removed.add(event.getFile());
+                }
+
+                if (!removed.isEmpty())
+                    removeFiles(removed);
+            }
+
+            @Override
+            public void after(@NotNull List<? extends @NotNull VFileEvent> events) {
+                List<VirtualFile> added = new ArrayList<>();
+
+                for (VFileEvent event : events) {
+                    if (event instanceof VFileCreateEvent || event instanceof VFileMoveEvent || isRename(event))
+                        added.add(event.getFile());
+                    else if (event instanceof VFileCopyEvent copyEvent)
+                        added.add(copyEvent.findCreatedFile());
+                }
+
+                if (!added.isEmpty())
+                    addFiles(added);
+            }
+
+        });
+
+        connection.subscribe(ModuleRootListener.TOPIC, new ModuleRootListener() {
+
+            @Override
+            public void rootsChanged(@NotNull ModuleRootEvent event) {
+                scheduleBuild();
+            }
+
+        });
+    }
+
+    public static @NotNull ResourcePathFuzzyIndex getInstance(@NotNull Project project) {
+        return project.getService(ResourcePathFuzzyIndex.class);
+    }
+
+    /**
+     * Suggests existing resource paths resembling the given missing path.
+     *
+     * @param path the missing resource path, including the base folder
+     * @param base the base folder the suggestions must be located in, or an empty string
+     * @param limit the maximum number of suggestions
+     * @return the suggested full resource paths, closest first, empty while the index is being built
+     */
+    public synchronized @NotNull List<String> suggest(@NotNull String path, @NotNull String base, int limit) {
+        return this.index == null ? Collections.emptyList() : this.index.suggest(path, base, limit);
+    }
+
+    /**
+     * Discards the current index and builds a new one in the background, superseding a running build.
+     */
+    void scheduleBuild() {
+        int buildGeneration;
+
+        synchronized (this) {
+            this.index = null;
+            this.building = true;
+            this.pendingChanges.clear(); // Covered by the new walk
+            buildGeneration = ++this.generation;
+        }
+
+        ReadAction.nonBlocking(this::build)
+            .inSmartMode(this.project)
+            .expireWith(this)
+            .coalesceBy(this)
+            .submit(AppExecutorUtil.getAppExecutorService())
+            .onSuccess(built -> this.publish(buildGeneration, built))
+            .onError(error -> this.abandon(buildGeneration)); // Also reports cancellation
+    }
+
+    @Override
+    public synchronized void dispose() {
+        this.index = null;
+        this.building = false;
+        this.pendingChanges.clear();
+    }
+
+    private @NotNull ResourcePathTrigramIndex build() {
+        ResourcePathTrigramIndex built = new ResourcePathTrigramIndex();
+
+        for (VirtualFile root : ResourcePathResolver.getInstance(this.project).getResourceRoots()) {
+            VfsUtilCore.iterateChildrenRecursively(root, null, file -> {
+                ProgressManager.checkCanceled();
+                String relativePath = VfsUtilCore.getRelativePath(file, root);
+
+                if (!file.isDirectory() && relativePath != null && !relativePath.isEmpty())
+                    built.add(relativePath);
+
+                return true;
+            });
+        }
+
+        return built;
+    }
+
+    private synchronized void publish(int buildGeneration, @NotNull ResourcePathTrigramIndex built) {
+        if (buildGeneration != this.generation || !this.building) return; // Superseded or disposed
+
+        for (Consumer<ResourcePathTrigramIndex> change : this.pendingChanges)
+            change.accept(built);
+
+        this.pendingChanges.clear();
+        this.building = false;
+        this.index = built;
+    }
+
+    private synchronized void abandon(int buildGeneration) {
+        if (buildGeneration != this.generation || !this.building) return; // Superseded or disposed
+        this.building = false;
+        this.pendingChanges.clear();
+    }
+
+    /**
+     * Applies a change to the ready index, or queues it for the index being built.
+     */
+    private synchronized void update(@NotNull Consumer<ResourcePathTrigramIndex> change) {
+        if (this.index != null)
+            change.accept(this.index);
+        else if (this.building)
+            this.pendingChanges.add(change);
+    }
+
+    /**
+     * Adds the given files and their children, the roots are resolved once per event batch since this runs in the write action.
+     */
+    private void addFiles(@NotNull List<VirtualFile> files) {
+        List<VirtualFile> roots = ResourcePathResolver.getInstance(this.project).getResourceRoots();
+        List<String> resourcePaths = new ArrayList<>();
+
+        for (VirtualFile file : files) {
+            if (file == null || !file.isValid() || ResourcePathUsageIndex.getResourcePath(roots, file) == null) continue;
+
+            VfsUtilCore.iterateChildrenRecursively(file, null, child -> {
+                String resourcePath = child.isDirectory() ? null : ResourcePathUsageIndex.getResourcePath(roots, child);
+
+                if (resourcePath != null)
+                    resourcePaths.add(resourcePath);
+
+                return true;
+            });
+        }
+
+        if (!resourcePaths.isEmpty())
+            this.update(index -> resourcePaths.forEach(index::add));
+    }
+
+    private void removeFiles(@NotNull List<VirtualFile> files) {
+        List<VirtualFile> roots = ResourcePathResolver.getInstance(this.project).getResourceRoots();
+        List<String> resourcePaths = new ArrayList<>();
+
+        for (VirtualFile file : files) {
+            String resourcePath = file == null ? null : ResourcePathUsageIndex.getResourcePath(roots, file);
+
+            if (resourcePath != null)
+                resourcePaths.add(resourcePath);
+        }
+
+        if (!resourcePaths.isEmpty())
+            this.update(index -> resourcePaths.forEach(index::removeTree));
+    }
+
+    private static boolean isRename(@NotNull VFileEvent event) {
+        return event instanceof VFilePropertyChangeEvent propertyEvent && propertyEvent.isRename();
+    }
+
+}
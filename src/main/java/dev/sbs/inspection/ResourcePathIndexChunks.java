@@ -0,0 +1,258 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Exports and imports shareable chunks of the resource path analysis for a git commit.
+ * <p>
+ * A chunk holds a snapshot of the resource tree and the evaluated {@code ResourcePath} sites of the
+ * project, named {@code <commit>.rpchunk}. Chunks are read from a plain directory, which may be a
+ * local folder or a file share, configured by the {@value #CHUNK_DIRECTORY_PROPERTY} system property
+ * and defaulting to {@code .idea/resourcePathChunks}. The chunk matching the checked out commit is
+ * imported in the background on project open. Its evaluations are validated by content hash like any other cached
+ * evaluation, so only files that differ from the exported state are analyzed again.
+ */
+@Service(Service.Level.PROJECT)
+final class ResourcePathIndexChunks {
+
+    static final @NotNull String CHUNK_DIRECTORY_PROPERTY = "dev.sbs.resourcePath.chunkDirectory";
+    private static final @NotNull Logger LOG = Logger.getInstance(ResourcePathIndexChunks.class);
+    private static final int MAGIC = 0x5250434B; // RPCK
+    private static final int VERSION = 2;
+    private static final @NotNull String EXTENSION = ".rpchunk";
+
+    private final @NotNull Project project;
+    private volatile @Nullable Set<String> snapshot;
+
+    public ResourcePathIndexChunks(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static @NotNull ResourcePathIndexChunks getInstance(@NotNull Project project) {
+        return project.getService(ResourcePathIndexChunks.class);
+    }
+
+    /**
+     * Checks the resource tree snapshot of the imported chunk.
+     *
+     * @param path the resource path
+     * @param isDirectory whether the path is expected to be a directory
+     * @return true if the snapshot contains the path, false if it does not or no chunk was imported
+     */
+    public boolean snapshotContains(@NotNull String path, boolean isDirectory) {
+        Set<String> snapshot = this.snapshot;
+        return snapshot != null && snapshot.contains(isDirectory ? path + "/" : path);
+    }
+
+    /**
+     * Analyzes all annotated sites and writes the chunk for the checked out commit.
+     * <p>
+     * Must not be called from a read action, the analysis runs in cancellable read actions.
+     *
+     * @return the written chunk
+     * @throws IOException if the project is not a git checkout or the chunk cannot be written
+     */
+    public @NotNull Path export() throws IOException {
+        String commit = this.getCommit();
+        if (commit == null) throw new IOException("Unable to determine the checked out commit");
+        Path directory = this.getChunkDirectory();
+        if (directory == null) throw new IOException("No chunk directory available");
+
+        Contents contents = ReadAction.nonBlocking(() -> {
+            ResourcePathUsageIndex.getInstance(this.project).ensureUpToDate(); // Evaluates and stores every site
+            return new Contents(this.collectSnapshot(), ResourcePathDiskCache.getInstance(this.project).exportEntries());
+        }).inSmartMode(this.project).executeSynchronously(); // Resolving during indexing would export an incomplete chunk
+
+        Set<String> snapshot = contents.snapshot();
+        Map<String, byte[]> entries = contents.entries();
+        Files.createDirectories(directory);
+        Path chunkPath = directory.resolve(commit + EXTENSION);
+        Path tempPath = directory.resolve(commit + EXTENSION + ".tmp");
+
+        try (OutputStream outputStream = Files.newOutputStream(tempPath); DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(ResourcePathDiskCache.EVALUATOR_VERSION);
+            EvaluationStore.writeString(output, commit);
+            output.writeInt(snapshot.size());
+
+            for (String path : snapshot)
+                EvaluationStore.writeString(output, path);
+
+            output.writeInt(entries.size());
+
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                EvaluationStore.writeString(output, entry.getKey());
+                output.writeInt(entry.getValue().length);
+                output.write(entry.getValue());
+            }
+        }
+
+        Files.move(tempPath, chunkPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return chunkPath;
+    }
+
+    /**
+     * Imports the chunk matching the checked out commit in a cancellable background read action.
+     *
+     * @return the pending import, resolving to true if a chunk was imported
+     */
+    @NotNull CancellablePromise<Boolean> scheduleImport() {
+        return ReadAction.nonBlocking(this::importChunk)
+            .expireWith(ResourcePathDiskCache.getInstance(this.project))
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Imports the chunk matching the checked out commit, if present.
+     * <p>
+     * Must be called from a read action, imported entries are validated against the current file contents.
+     *
+     * @return true if a chunk was imported
+     */
+    public boolean importChunk() {
+        String commit = this.getCommit();
+        Path directory = this.getChunkDirectory();
+        if (commit == null || directory == null) return false;
+        Path chunkPath = directory.resolve(commit + EXTENSION);
+        if (!Files.isRegularFile(chunkPath)) return false;
+
+        try (FileChannel channel = FileChannel.open(chunkPath, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) throw new IllegalArgumentException("Unsupported chunk format");
+            if (buffer.getInt() != ResourcePathDiskCache.EVALUATOR_VERSION) throw new IllegalArgumentException("Chunk exported by another evaluator version");
+            if (!commit.equals(EvaluationStore.readString(buffer))) throw new IllegalArgumentException("Chunk exported for another commit");
+            int snapshotCount = buffer.getInt();
+            Set<String> snapshot = new LinkedHashSet<>();
+
+            for (int i = 0; i < snapshotCount; i++) {
+                ProgressManager.checkCanceled();
+                snapshot.add(EvaluationStore.readString(buffer));
+            }
+
+            int entryCount = buffer.getInt();
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+
+            for (int i = 0; i < entryCount; i++) {
+                ProgressManager.checkCanceled();
+                String key = EvaluationStore.readString(buffer);
+                int length = buffer.getInt();
+                if (length < 0 || length > buffer.remaining()) throw new IllegalArgumentException("Truncated entry " + key);
+                byte[] payload = new byte[length];
+                buffer.get(payload); // Copied, the chunk may live on a file share
+                entries.put(key, payload);
+            }
+
+            this.snapshot = Collections.unmodifiableSet(snapshot);
+            int imported = ResourcePathDiskCache.getInstance(this.project).importEntries(entries);
+            LOG.info("Imported " + imported + " resource path evaluations from " + chunkPath);
+            return true;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException exception) {
+            LOG.warn("Ignoring unreadable resource path chunk " + chunkPath, exception);
+            return false;
+        }
+    }
+
+    /**
+     * Resolves the chunk directory from the {@value #CHUNK_DIRECTORY_PROPERTY} system property, or the project's {@code .idea} folder.
+     */
+    @Nullable Path getChunkDirectory() {
+        String configured = System.getProperty(CHUNK_DIRECTORY_PROPERTY);
+        if (configured != null && !configured.isBlank()) return Path.of(configured);
+        String basePath = this.project.getBasePath();
+        return basePath == null ? null : Path.of(basePath, ".idea", "resourcePathChunks");
+    }
+
+    /**
+     * Reads the checked out commit from the project's git directory, following a symbolic {@code HEAD}.
+     */
+    @Nullable String getCommit() {
+        String basePath = this.project.getBasePath();
+        if (basePath == null) return null;
+        Path gitDirectory = Path.of(basePath, ".git");
+
+        try {
+            String head = Files.readString(gitDirectory.resolve("HEAD"), StandardCharsets.UTF_8).trim();
+            if (!head.startsWith("ref: ")) return isCommit(head) ? head : null;
+            String ref = head.substring(5);
+            Path refPath = gitDirectory.resolve(ref);
+
+            if (Files.isRegularFile(refPath)) {
+                String commit = Files.readString(refPath, StandardCharsets.UTF_8).trim();
+                return isCommit(commit) ? commit : null;
+            }
+
+            Path packedRefs = gitDirectory.resolve("packed-refs");
+            if (!Files.isRegularFile(packedRefs)) return null;
+
+            for (String line : Files.readAllLines(packedRefs, StandardCharsets.UTF_8)) {
+                if (line.endsWith(" " + ref) && isCommit(line.substring(0, line.indexOf(' '))))
+                    return line.substring(0, line.indexOf(' '));
+            }
+        } catch (IOException ignored) { } // Not a git checkout, or a worktree
+
+        return null;
+    }
+
+    /**
+     * Collects the relative paths of all files and directories below the resource roots, directories end with a slash.
+     */
+    private @NotNull Set<String> collectSnapshot() {
+        Set<String> snapshot = new LinkedHashSet<>();
+        List<VirtualFile> roots = ResourcePathResolver.getInstance(this.project).getResourceRoots();
+
+        for (VirtualFile root : roots) {
+            VfsUtilCore.iterateChildrenRecursively(root, null, file -> {
+                ProgressManager.checkCanceled();
+                String relativePath = VfsUtilCore.getRelativePath(file, root);
+
+                if (relativePath != null && !relativePath.isEmpty())
+                    snapshot.add(file.isDirectory() ? relativePath + "/" : relativePath);
+
+                return true;
+            });
+        }
+
+        return snapshot;
+    }
+
+    private static boolean isCommit(@NotNull String value) {
+        return value.length() == 40 && value.chars().allMatch(character -> Character.digit(character, 16) >= 0);
+    }
+
+    /**
+     * @param snapshot the relative paths below the resource roots, directories end with a slash
+     * @param entries the valid serialized evaluations keyed by project-relative site
+     */
+    private record Contents(@NotNull Set<String> snapshot, @NotNull Map<String, byte[]> entries) { }
+
+}
@@ -0,0 +1,31 @@
+package dev.sbs.inspection;
+
+import com.intellij.ide.highlighter.JavaFileType;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.EditorKind;
+import com.intellij.openapi.editor.event.EditorFactoryEvent;
+import com.intellij.openapi.editor.event.EditorFactoryListener;
+import com.intellij.openapi.editor.ex.util.EditorUtil;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Attaches a {@link ResourcePathInlayUpdater} to every main editor of a Java file.
+ */
+final class ResourcePathInlayListener implements EditorFactoryListener {
+
+    @Override
+    public void editorCreated(@NotNull EditorFactoryEvent event) {
+        Editor editor = event.getEditor();
+        Project project = editor.getProject();
+        if (project == null || project.isDefault() || editor.getEditorKind() != EditorKind.MAIN_EDITOR) return;
+        VirtualFile file = FileDocumentManager.getInstance().getFile(editor.getDocument());
+        if (file == null || !FileTypeRegistry.getInstance().isFileOfType(file, JavaFileType.INSTANCE)) return;
+
+        EditorUtil.disposeWithEditor(editor, new ResourcePathInlayUpdater(editor, project));
+    }
+
+}
@@ -0,0 +1,250 @@
+package dev.sbs.inspection;
+
+import com.intellij.codeInsight.daemon.impl.HintRenderer;
+import com.intellij.codeInspection.InspectionProfile;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.Inlay;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.TextRange;
+import com.intellij.profile.ProfileChangeAdapter;
+import com.intellij.psi.*;
+import com.intellij.util.Alarm;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+
+/**
+ * Shows the resolved value of {@code ResourcePath} expressions as inline hints in a single editor.
+ * <p>
+ * Only sites in the visible area and a small margin around it are evaluated. Updates are debounced
+ * while scrolling or typing, computed in a cancellable non-blocking read action that is superseded
+ * by the next update, and limited to a fixed number of evaluated sites each, so hints never block
+ * the editor. Hints are only shown while the {@link ResourcePathInspection} is enabled and its
+ * inline hints option is set.
+ */
+final class ResourcePathInlayUpdater implements Disposable {
+
+    private static final int DEBOUNCE_MILLIS = 150;
+    private static final int MARGIN_LINES = 30;
+    private static final int MAX_SITES = 64;
+    private static final int MAX_VALUES = 3;
+
+    private final @NotNull Editor editor;
+    private final @NotNull Project project;
+    private final @NotNull Alarm alarm;
+    private final @NotNull List<Inlay<HintRenderer>> inlays = new ArrayList<>();
+
+    ResourcePathInlayUpdater(@NotNull Editor editor, @NotNull Project project) {
+        this.editor = editor;
+        this.project = project;
+        this.alarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, this);
+
+        editor.getScrollingModel().addVisibleAreaListener(event -> this.scheduleUpdate(), this);
+        editor.getDocument().addDocumentListener(new DocumentListener() {
+
+            @Override
+            public void documentChanged(@NotNull DocumentEvent event) {
+                scheduleUpdate();
+            }
+
+        }, this);
+        project.getMessageBus().connect(this).subscribe(ProfileChangeAdapter.TOPIC, new ProfileChangeAdapter() {
+
+            @Override
+            public void profileChanged(@NotNull InspectionProfile profile) {
+                scheduleUpdate();
+            }
+
+        });
+
+        this.scheduleUpdate();
+    }
+
+    @Override
+    public void dispose() {
+        this.inlays.clear(); // Disposed together with the editor
+    }
+
+    private void scheduleUpdate() {
+        this.alarm.cancelAllRequests();
+        this.alarm.addRequest(this::update, DEBOUNCE_MILLIS);
+    }
+
+    private void update() {
+        if (this.editor.isDisposed()) return;
+        TextRange range = this.getVisibleRange();
+
+        ReadAction.nonBlocking(() -> this.collectHints(range))
+            .inSmartMode(this.project)
+            .withDocumentsCommitted(this.project)
+            .expireWith(this)
+            .coalesceBy(this)
+            .finishOnUiThread(ModalityState.any(), this::applyHints)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Returns the offsets of the visible lines, extended by {@link #MARGIN_LINES} in both directions.
+     */
+    private @NotNull TextRange getVisibleRange() {
+        Document document = this.editor.getDocument();
+        if (document.getLineCount() == 0) return TextRange.EMPTY_RANGE;
+        Rectangle area = this.editor.getScrollingModel().getVisibleArea();
+        int lastLine = document.getLineCount() - 1;
+        int startLine = Math.min(lastLine, Math.max(0, this.editor.xyToLogicalPosition(area.getLocation()).line - MARGIN_LINES));
+        int endLine = Math.min(lastLine, this.editor.xyToLogicalPosition(new Point(area.x, area.y + area.height)).line + MARGIN_LINES);
+        return new TextRange(document.getLineStartOffset(startLine), document.getLineEndOffset(Math.max(startLine, endLine)));
+    }
+
+    private @NotNull Hints collectHints(@NotNull TextRange visibleRange) {
+        Document document = this.editor.getDocument();
+        Hints hints = new Hints(document.getModificationStamp(), new HashMap<>());
+        PsiFile file = PsiDocumentManager.getInstance(this.project).getPsiFile(document);
+        if (!(file instanceof PsiJavaFile)) return hints;
+        TextRange range = visibleRange.intersection(file.getTextRange());
+        if (range == null) return hints;
+        ResourcePathInspection inspection = ResourcePathInspection.getEnabledInstance(file);
+        if (inspection == null || !inspection.showInlayHints) return hints; // Removes shown hints
+        ResourcePathAnnotations annotations = ResourcePathAnnotations.getInstance(this.project);
+        ResourcePathResolver resolver = ResourcePathResolver.getInstance(this.project);
+
+        file.accept(new JavaRecursiveElementWalkingVisitor() {
+
+            private int evaluatedSites = 0; // Resolved calls and evaluated expressions, including those without a hint
+
+            @Override
+            public void visitElement(@NotNull PsiElement element) {
+                if (this.evaluatedSites >= MAX_SITES)
+                    this.stopWalking();
+                else if (element.getTextRange().intersects(range))
+                    super.visitElement(element);
+            }
+
+            @Override
+            public void visitEnumConstant(@NotNull PsiEnumConstant enumConstant) {
+                PsiExpressionList arguments = enumConstant.getArgumentList();
+
+                if (arguments != null && range.intersects(arguments.getTextRange())) {
+                    this.evaluatedSites++;
+                    PsiMethod constructor = enumConstant.resolveConstructor();
+
+                    if (constructor != null)
+                        this.addArgumentHints(arguments.getExpressions(), constructor.getParameterList().getParameters());
+                }
+
+                super.visitEnumConstant(enumConstant);
+            }
+
+            @Override
+            public void visitField(@NotNull PsiField field) {
+                PsiExpression initializer = field.getInitializer();
+
+                if (initializer != null && range.intersects(initializer.getTextRange()))
+                    this.addHint(initializer, annotations.findAnnotation(field));
+
+                super.visitField(field);
+            }
+
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                if (range.intersects(expression.getTextRange())) {
+                    this.evaluatedSites++;
+                    PsiMethod method = expression.resolveMethod();
+
+                    if (method != null) {
+                        this.addArgumentHints(expression.getArgumentList().getExpressions(), method.getParameterList().getParameters());
+                        this.addHint(expression, annotations.findAnnotation(method));
+                    }
+                }
+
+                super.visitMethodCallExpression(expression);
+            }
+
+            private void addArgumentHints(@NotNull PsiExpression[] arguments, @NotNull PsiParameter[] parameters) {
+                for (int i = 0; i < Math.min(arguments.length, parameters.length); i++)
+                    this.addHint(arguments[i], annotations.findAnnotation(parameters[i]));
+            }
+
+            private void addHint(@NotNull PsiExpression expression, @Nullable PsiAnnotation annotation) {
+                if (annotation == null) return;
+                int offset = expression.getTextRange().getEndOffset();
+                if (!range.contains(offset) || hints.textByOffset().containsKey(offset)) return;
+                String base = annotations.getBaseFolder(annotation);
+                if (base.isEmpty() && expression instanceof PsiLiteralExpression) return; // Value already visible
+                if (this.evaluatedSites++ >= MAX_SITES) return;
+                ProgressManager.checkCanceled();
+                String text = toHintText(resolver.resolve(expression, base));
+
+                if (text != null)
+                    hints.textByOffset().put(offset, text);
+            }
+
+        });
+
+        return hints;
+    }
+
+    private void applyHints(@NotNull Hints hints) {
+        if (this.editor.isDisposed() || this.editor.getDocument().getModificationStamp() != hints.stamp()) return;
+        Map<Integer, String> pending = new HashMap<>(hints.textByOffset());
+        Iterator<Inlay<HintRenderer>> iterator = this.inlays.iterator();
+
+        // Keep unchanged hints to avoid flickering while scrolling
+        while (iterator.hasNext()) {
+            Inlay<HintRenderer> inlay = iterator.next();
+
+            if (inlay.isValid() && Objects.equals(pending.get(inlay.getOffset()), inlay.getRenderer().getText())) {
+                pending.remove(inlay.getOffset());
+                continue;
+            }
+
+            Disposer.dispose(inlay);
+            iterator.remove();
+        }
+
+        for (Map.Entry<Integer, String> hint : pending.entrySet()) {
+            Inlay<HintRenderer> inlay = this.editor.getInlayModel().addInlineElement(hint.getKey(), true, new HintRenderer(hint.getValue()));
+
+            if (inlay != null)
+                this.inlays.add(inlay);
+        }
+    }
+
+    private static @Nullable String toHintText(@NotNull List<ResolvedResourcePath> resolved) {
+        if (resolved.isEmpty()) return null;
+        StringJoiner joiner = new StringJoiner(", ");
+
+        for (ResolvedResourcePath resourcePath : resolved.subList(0, Math.min(resolved.size(), MAX_VALUES)))
+            joiner.add(resourcePath.path() + (resourcePath.exists() ? " \u2713" : " \u2717 missing"));
+
+        if (resolved.size() > MAX_VALUES)
+            joiner.add("+" + (resolved.size() - MAX_VALUES) + " more");
+
+        return joiner.toString();
+    }
+
+    /**
+     * @param stamp the document modification stamp the hints were computed for
+     * @param textByOffset the hint text keyed by the end offset of its expression
+     */
+    private record Hints(long stamp, @NotNull Map<Integer, String> textByOffset) { }
+
+}
@@ -1,18 +1,25 @@
 package dev.sbs.inspection;
 
+import com.intellij.codeInsight.daemon.HighlightDisplayKey;
+import com.intellij.codeInspection.InspectionProfileEntry;
 import com.intellij.codeInspection.LocalInspectionTool;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
+import com.intellij.codeInspection.ex.InspectionProfileImpl;
 import com.intellij.codeInspection.options.OptPane;
+import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.DumbService;
+import com.intellij.profile.codeInspection.InspectionProjectProfileManager;
 import com.intellij.psi.JavaElementVisitor;
 import com.intellij.psi.PsiElementVisitor;
 import com.intellij.psi.PsiEnumConstant;
 import com.intellij.psi.PsiField;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiLiteralExpression;
 import com.intellij.psi.PsiMethodCallExpression;
 import com.intellij.util.xmlb.annotations.OptionTag;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Inspection processor that checks string literals annotated with {@code ResourcePath}
@@ -20,15 +27,45 @@ import org.jetbrains.annotations.NotNull;
  * <p>
  * Supports an optional {@code base} parameter in the annotation to specify a base folder
  * under which the resource path is resolved.
+ * <p>
+ * While the project is being indexed, a reduced {@link DumbResourcePathVisitor} validates plain
+ * literals and same-file constants until the full analysis takes over.
+ * <p>
+ * With {@link AnalysisMode#BACKGROUND}, editor highlighting is delegated to the
+ * {@link ResourcePathExternalAnnotator}, which evaluates paths after the highlighting pass.
+ * Batch inspection runs always analyze inline.
+ * <p>
+ * The inline hints of the {@link ResourcePathInlayUpdater} follow the enabled state of this
+ * inspection and can be turned off separately.
  */
-class ResourcePathInspection extends LocalInspectionTool {
+class ResourcePathInspection extends LocalInspectionTool implements DumbAware {
+
+    static final @NotNull String SHORT_NAME = "ResourcePathInspection";
 
     @OptionTag("HIGHLIGHT_TYPE_BASE")
     public @NotNull ProblemHighlightType baseHighlightType = ProblemHighlightType.ERROR;
 
+    @OptionTag("ANALYSIS_MODE")
+    public @NotNull AnalysisMode analysisMode = AnalysisMode.INLINE;
+
+    @OptionTag("SHOW_INLAY_HINTS")
+    public boolean showInlayHints = true;
+
+    /**
+     * Returns the configured inspection instance of the current profile if it is enabled for the given file.
+     */
+    static @Nullable ResourcePathInspection getEnabledInstance(@NotNull PsiFile file) {
+        InspectionProfileImpl profile = InspectionProjectProfileManager.getInstance(file.getProject()).getCurrentProfile();
+        HighlightDisplayKey key = HighlightDisplayKey.find(SHORT_NAME);
+        if (key == null || !profile.isToolEnabled(key, file)) return null;
+        InspectionProfileEntry tool = profile.getUnwrappedTool(SHORT_NAME, file);
+        return tool instanceof ResourcePathInspection inspection ? inspection : null;
+    }
+
     @Override
     public @NotNull PsiElementVisitor buildVisitor(@NotNull ProblemsHolder holder, boolean isOnTheFly) {
-        if (DumbService.isDumb(holder.getProject())) return PsiElementVisitor.EMPTY_VISITOR;
+        if (DumbService.isDumb(holder.getProject())) return new DumbResourcePathVisitor(holder, this.baseHighlightType);
+        if (isOnTheFly && this.analysisMode == AnalysisMode.BACKGROUND) return PsiElementVisitor.EMPTY_VISITOR;
         ResourcePathVisitor resourcePathVisitor = new ResourcePathVisitor(this, holder, this.baseHighlightType);
 
         return new JavaElementVisitor() {
@@ -70,8 +107,25 @@ class ResourcePathInspection extends LocalInspectionTool {
                     OptPane.option(ProblemHighlightType.GENERIC_ERROR_OR_WARNING, "Server Problem"),
                     OptPane.option(ProblemHighlightType.INFORMATION, "Information")
                 )
+            ),
+            OptPane.group(
+                "Analysis settings",
+                OptPane.dropdown(
+                    "analysisMode",
+                    "Editor analysis",
+                    OptPane.option(AnalysisMode.INLINE, "Inline (highlighting pass)"),
+                    OptPane.option(AnalysisMode.BACKGROUND, "Background (external annotator)")
+                ),
+                OptPane.checkbox("showInlayHints", "Show resolved paths as inline hints")
             )
         );
     }
 
+    public enum AnalysisMode {
+
+        INLINE,
+        BACKGROUND
+
+    }
+
 }
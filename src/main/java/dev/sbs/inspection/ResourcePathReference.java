@@ -0,0 +1,99 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.util.TextRange;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.ElementManipulators;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.PsiLiteralExpression;
+import com.intellij.psi.PsiReferenceBase;
+import com.intellij.util.IncorrectOperationException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Reference from an expression annotated with {@code ResourcePath} to the resource file or
+ * directory it resolves to.
+ * <p>
+ * Only plain string literals are rewritten by rename and move refactorings, expressions built
+ * from concatenations or method calls are reported by Find Usages but left untouched.
+ */
+final class ResourcePathReference extends PsiReferenceBase<PsiElement> {
+
+    private final @NotNull PsiFileSystemItem target;
+    private final @NotNull String targetPath;
+    private final @NotNull String base;
+
+    public ResourcePathReference(@NotNull PsiElement element, @NotNull PsiFileSystemItem target, @NotNull String targetPath, @NotNull String base) {
+        super(element, getRange(element), true);
+        this.target = target;
+        this.targetPath = targetPath;
+        this.base = base;
+    }
+
+    @Override
+    public @NotNull PsiElement resolve() {
+        return this.target;
+    }
+
+    @Override
+    public PsiElement handleElementRename(@NotNull String newElementName) throws IncorrectOperationException {
+        String segmentPrefix = this.targetPath.substring(0, this.targetPath.lastIndexOf('/') + 1);
+        return this.rewrite(segmentPrefix + newElementName);
+    }
+
+    @Override
+    public PsiElement bindToElement(@NotNull PsiElement element) throws IncorrectOperationException {
+        if (!(element instanceof PsiFileSystemItem item) || item.getVirtualFile() == null)
+            throw new IncorrectOperationException("Cannot bind resource path to " + element);
+
+        VirtualFile file = item.getVirtualFile();
+        String newTargetPath = ResourcePathUsageIndex.getResourcePath(element.getProject(), file);
+        if (newTargetPath == null) return this.getElement();
+        return this.rewrite(newTargetPath);
+    }
+
+    /**
+     * Replaces the target portion of the literal value with the given path, keeping any nested suffix.
+     *
+     * @param newTargetPath the new resource path of the target
+     * @return the updated element, or the original element if it cannot be rewritten
+     */
+    private @NotNull PsiElement rewrite(@NotNull String newTargetPath) {
+        PsiElement element = this.getElement();
+        String value = getPlainLiteralValue(element);
+        if (value == null) return element;
+
+        String fullPath = this.base.isEmpty() ? value : this.base + "/" + value;
+        if (!fullPath.equals(this.targetPath) && !fullPath.startsWith(this.targetPath + "/")) return element;
+        String newFullPath = newTargetPath + fullPath.substring(this.targetPath.length());
+        String newValue;
+
+        if (this.base.isEmpty())
+            newValue = newFullPath;
+        else if (newFullPath.startsWith(this.base + "/"))
+            newValue = newFullPath.substring(this.base.length() + 1);
+        else
+            return element; // Moved outside the base folder
+
+        return ElementManipulators.handleContentChange(element, newValue);
+    }
+
+    private static @NotNull TextRange getRange(@NotNull PsiElement element) {
+        if (getPlainLiteralValue(element) != null)
+            return ElementManipulators.getValueTextRange(element);
+
+        return TextRange.from(0, element.getTextLength());
+    }
+
+    /**
+     * Returns the value of a string literal whose source text matches its value, i.e. contains no escapes.
+     */
+    private static @Nullable String getPlainLiteralValue(@NotNull PsiElement element) {
+        if (element instanceof PsiLiteralExpression literal && literal.getValue() instanceof String value && ElementManipulators.getValueText(literal).equals(value))
+            return value;
+
+        return null;
+    }
+
+}
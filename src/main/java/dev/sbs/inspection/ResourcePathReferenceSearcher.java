@@ -0,0 +1,45 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.application.QueryExecutorBase;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFileSystemItem;
+import com.intellij.psi.PsiReference;
+import com.intellij.psi.search.PsiSearchScopeUtil;
+import com.intellij.psi.search.SearchScope;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.util.Processor;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Contributes {@code ResourcePath} expressions to reference searches on resource files and directories,
+ * backed by the {@link ResourcePathUsageIndex}.
+ */
+final class ResourcePathReferenceSearcher extends QueryExecutorBase<PsiReference, ReferencesSearch.SearchParameters> {
+
+    public ResourcePathReferenceSearcher() {
+        super(true);
+    }
+
+    @Override
+    public void processQuery(@NotNull ReferencesSearch.SearchParameters parameters, @NotNull Processor<? super PsiReference> consumer) {
+        if (!(parameters.getElementToSearch() instanceof PsiFileSystemItem target)) return;
+        VirtualFile file = target.getVirtualFile();
+        if (file == null) return;
+
+        Project project = parameters.getProject();
+        String targetPath = ResourcePathUsageIndex.getResourcePath(project, file);
+        if (targetPath == null) return;
+        SearchScope scope = parameters.getEffectiveSearchScope();
+
+        for (ResourcePathUsageIndex.Usage usage : ResourcePathUsageIndex.getInstance(project).findUsages(targetPath, target.isDirectory())) {
+            PsiElement element = usage.getElement();
+            if (element == null || !PsiSearchScopeUtil.isInScope(scope, element)) continue;
+
+            if (!consumer.process(new ResourcePathReference(element, target, targetPath, usage.base())))
+                return;
+        }
+    }
+
+}
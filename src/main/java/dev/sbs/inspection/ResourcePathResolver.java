@@ -0,0 +1,227 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.Key;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiAnnotation;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiModifierListOwner;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.uast.UExpression;
+import org.jetbrains.uast.UastContextKt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Project service exposing the resolved values of expressions annotated with {@code ResourcePath}.
+ * <p>
+ * Evaluated values are cached on the expression until the next PSI modification, so the inspection
+ * and any other consumer share a single evaluation per modification. Evaluations that fully resolved
+ * without contributed values are also persisted by {@link ResourcePathDiskCache}, and reused by the
+ * first evaluation after a restart while their files are unchanged.
+ *
+ * <pre><code>
+ *   ResourcePathResolver resolver = ResourcePathResolver.getInstance(project);
+ *
+ *   for (ResolvedResourcePath resolved : resolver.resolve(expression, "META-INF")) {
+ *       if (!resolved.exists())
+ *           // resolved.path() is missing
+ *   }
+ * </code></pre>
+ */
+@Service(Service.Level.PROJECT)
+public final class ResourcePathResolver {
+
+    private static final @NotNull Key<CachedValue<Evaluation>> VALUES_KEY = Key.create("dev.sbs.inspection.ResourcePathResolver.values");
+    private static final @NotNull Key<Boolean> DISK_CACHE_CONSULTED_KEY = Key.create("dev.sbs.inspection.ResourcePathResolver.diskCacheConsulted");
+    private final @NotNull Project project;
+
+    public ResourcePathResolver(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static @NotNull ResourcePathResolver getInstance(@NotNull Project project) {
+        return project.getService(ResourcePathResolver.class);
+    }
+
+    /**
+     * Evaluates all possible string values of the given expression.
+     *
+     * @param expression the expression to evaluate
+     * @return the cached, unmodifiable set of values
+     */
+    public @NotNull Set<String> evaluate(@NotNull PsiElement expression) {
+        return this.getEvaluation(expression).values();
+    }
+
+    /**
+     * Returns the files the evaluation of the given expression resolved into, excluding its own file.
+     *
+     * @param expression the evaluated expression
+     * @return the cached, unmodifiable set of files
+     */
+    @NotNull Set<VirtualFile> getDependencies(@NotNull PsiElement expression) {
+        return this.getEvaluation(expression).dependencies();
+    }
+
+    private @NotNull Evaluation getEvaluation(@NotNull PsiElement expression) {
+        return CachedValuesManager.getCachedValue(expression, VALUES_KEY, () -> {
+            ResourcePathDiskCache diskCache = ResourcePathDiskCache.getInstance(this.project);
+            boolean consulted = Boolean.TRUE.equals(expression.getUserData(DISK_CACHE_CONSULTED_KEY));
+            expression.putUserData(DISK_CACHE_CONSULTED_KEY, Boolean.TRUE);
+            Evaluation evaluation = consulted ? null : diskCache.get(expression); // Recomputations follow PSI modifications
+
+            if (evaluation == null) {
+                UExpression uExpression = UastContextKt.toUElement(expression, UExpression.class);
+                StringExpressionEvaluator.Dependencies dependencies = new StringExpressionEvaluator.Dependencies();
+                Set<String> values = uExpression == null ? Collections.emptySet() : Collections.unmodifiableSet(StringExpressionEvaluator.evaluate(uExpression, dependencies));
+                evaluation = new Evaluation(values, toVirtualFiles(dependencies.getFiles(), expression.getContainingFile()));
+
+                if (uExpression != null && !dependencies.isIncomplete())
+                    diskCache.put(expression, values, dependencies.getFiles());
+            }
+
+            return CachedValueProvider.Result.create(evaluation, PsiModificationTracker.MODIFICATION_COUNT);
+        });
+    }
+
+    /**
+     * Evaluates the given expression and resolves each value against the resource roots.
+     *
+     * @param expression the expression to evaluate
+     * @param annotation the annotation with {@code ResourcePath} semantics providing the base folder
+     * @return the resolved values, never null
+     */
+    public @NotNull List<ResolvedResourcePath> resolve(@NotNull PsiElement expression, @NotNull PsiAnnotation annotation) {
+        return this.resolve(expression, this.getBaseFolder(annotation));
+    }
+
+    /**
+     * Evaluates the given expression and resolves each value against the resource roots.
+     *
+     * @param expression the expression to evaluate
+     * @param base the base folder prepended to each value, or an empty string
+     * @return the resolved values, never null
+     */
+    public @NotNull List<ResolvedResourcePath> resolve(@NotNull PsiElement expression, @NotNull String base) {
+        List<ResolvedResourcePath> result = new ArrayList<>();
+
+        for (String value : this.evaluate(expression)) {
+            if (value == null || value.isEmpty()) continue;
+            String path = resolveFullPath(base, value);
+            result.add(new ResolvedResourcePath(value, path, this.exists(path, false)));
+        }
+
+        return result;
+    }
+
+    /**
+     * Checks if the resource exists in the project's source roots or a contributed resource root.
+     *
+     * @param path the resource path
+     * @param isDirectory whether the path is expected to be a directory
+     * @return true if resource exists or path is null/empty, false otherwise
+     */
+    public boolean exists(String path, boolean isDirectory) {
+        if (path == null || path.trim().isEmpty()) return true;
+        String normalizedPath = path.replace('\\', '/');
+
+        List<VirtualFile> roots = this.getResourceRoots();
+
+        // Try relative to source/resource roots
+        for (VirtualFile root : roots) {
+            VirtualFile candidate = root.findFileByRelativePath(normalizedPath);
+            if (candidate != null) return isDirectory == candidate.isDirectory();
+        }
+
+        // Fresh checkout without configured roots, fall back to the snapshot of an imported chunk
+        if (roots.isEmpty())
+            return ResourcePathIndexChunks.getInstance(this.project).snapshotContains(normalizedPath, isDirectory);
+
+        return false;
+    }
+
+    /**
+     * Returns the project's content source roots followed by all contributed resource roots.
+     *
+     * @return the resource roots, never null
+     */
+    public @NotNull List<VirtualFile> getResourceRoots() {
+        Set<VirtualFile> roots = new LinkedHashSet<>(Arrays.asList(ProjectRootManager.getInstance(this.project).getContentSourceRoots()));
+
+        for (ResourcePathContributor contributor : DumbService.getInstance(this.project).filterByDumbAwareness(ResourcePathContributor.EP_NAME.getExtensionList())) {
+            for (VirtualFile root : contributor.getResourceRoots(this.project)) {
+                if (root.isValid() && root.isDirectory())
+                    roots.add(root);
+            }
+        }
+
+        return new ArrayList<>(roots);
+    }
+
+    /**
+     * Retrieves the base folder of an annotation with {@code ResourcePath} semantics, either declared
+     * by its {@code base} attribute or preset by a meta-annotation.
+     *
+     * @param annotation the annotation to check
+     * @return the base folder path or empty string if none specified
+     */
+    public @NotNull String getBaseFolder(@NotNull PsiAnnotation annotation) {
+        return ResourcePathAnnotations.getInstance(this.project).getBaseFolder(annotation);
+    }
+
+    /**
+     * Finds the annotation with {@code ResourcePath} semantics on the given element, either
+     * {@code ResourcePath} itself or an annotation meta-annotated with it.
+     *
+     * @param owner the annotated element
+     * @return the annotation, or null if none
+     */
+    public @Nullable PsiAnnotation findAnnotation(@NotNull PsiModifierListOwner owner) {
+        return ResourcePathAnnotations.getInstance(this.project).findAnnotation(owner);
+    }
+
+    private static @NotNull Set<VirtualFile> toVirtualFiles(@NotNull Set<PsiFile> files, @Nullable PsiFile ownFile) {
+        Set<VirtualFile> virtualFiles = new HashSet<>();
+
+        for (PsiFile file : files) {
+            if (file != ownFile && file.getVirtualFile() != null)
+                virtualFiles.add(file.getVirtualFile());
+        }
+
+        return Collections.unmodifiableSet(virtualFiles);
+    }
+
+    /**
+     * Prepends the base folder to the given value.
+     *
+     * @param base the base folder, or an empty string
+     * @param value the resource path relative to the base folder
+     * @return the full resource path
+     */
+    public static @NotNull String resolveFullPath(@NotNull String base, @NotNull String value) {
+        return base.isEmpty() ? value : base + "/" + value;
+    }
+
+    /**
+     * @param values the evaluated values
+     * @param dependencies the files the evaluation resolved into, excluding the file of the expression
+     */
+    record Evaluation(@NotNull Set<String> values, @NotNull Set<VirtualFile> dependencies) { }
+
+}
@@ -12,6 +12,15 @@ final class ResourcePathStartupActivity implements ProjectActivity {
     public Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
         // Trigger the service to ensure it gets initialized
         project.getService(ResourcePathChangeService.class);
+
+        // Reuse the analysis of a shared chunk for the checked out commit, if available, then index
+        // usages in the background so Find Usages and rename of resource files start from a warm index
+        ResourcePathIndexChunks.getInstance(project)
+            .scheduleImport()
+            .onProcessed(imported -> ResourcePathUsageIndex.getInstance(project).scheduleWarmUp());
+
+        // Suggestions for missing paths become available once the background build finishes
+        ResourcePathFuzzyIndex.getInstance(project).scheduleBuild();
         return java.util.concurrent.CompletableFuture.completedFuture(null);
     }
 
@@ -0,0 +1,164 @@
+package dev.sbs.inspection;
+
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Trigram postings over the file names of resource paths, ranking candidates by edit distance.
+ * <p>
+ * Only the last path segment is indexed, since typos, wrong case or a wrong extension usually
+ * affect the file name, while directory trigrams are shared by most paths. Candidates sharing the
+ * most trigrams are ranked by their edit distance to the full missing path, so a misspelled
+ * directory is still found through its file name. Not thread-safe, guarded by the
+ * {@link ResourcePathFuzzyIndex}.
+ */
+final class ResourcePathTrigramIndex {
+
+    private static final int MAX_CANDIDATES = 64;
+    private static final int MIN_COMMON_POSTINGS = 1_000;
+
+    private final @NotNull List<String> paths = new ArrayList<>();
+    private final @NotNull TreeMap<String, Integer> ids = new TreeMap<>();
+    private final @NotNull Long2ObjectOpenHashMap<IntOpenHashSet> postings = new Long2ObjectOpenHashMap<>();
+
+    /**
+     * Suggests indexed paths resembling the given missing path.
+     *
+     * @param path the missing resource path, including the base folder
+     * @param base the base folder the suggestions must be located in, or an empty string
+     * @param limit the maximum number of suggestions
+     * @return the suggested full resource paths, closest first
+     */
+    @NotNull List<String> suggest(@NotNull String path, @NotNull String base, int limit) {
+        String normalizedPath = path.replace('\\', '/').toLowerCase(Locale.ROOT);
+        String prefix = base.isEmpty() ? "" : base + "/";
+        long[] trigrams = getTrigrams(getFileName(normalizedPath));
+        int commonPostings = Math.max(MIN_COMMON_POSTINGS, this.ids.size() / 10);
+        Int2IntOpenHashMap sharedCounts = new Int2IntOpenHashMap();
+
+        // Common trigrams, like the extension, are only counted when nothing more selective matched
+        for (boolean includeCommon : new boolean[] { false, true }) {
+            for (long trigram : trigrams) {
+                IntOpenHashSet postingIds = this.postings.get(trigram);
+                if (postingIds == null || (!includeCommon && postingIds.size() > commonPostings) || (includeCommon && postingIds.size() <= commonPostings)) continue;
+                postingIds.forEach((int id) -> sharedCounts.addTo(id, 1));
+            }
+
+            if (!sharedCounts.isEmpty() && !includeCommon) break;
+        }
+
+        List<Candidate> candidates = new ArrayList<>();
+
+        for (Int2IntMap.Entry entry : sharedCounts.int2IntEntrySet()) {
+            String candidate = this.paths.get(entry.getIntKey());
+            if (candidate != null && candidate.startsWith(prefix))
+                candidates.add(new Candidate(candidate, entry.getIntValue(), -1));
+        }
+
+        return candidates.stream()
+            .sorted(Comparator.comparingInt(Candidate::sharedTrigrams).reversed())
+            .limit(MAX_CANDIDATES)
+            .map(candidate -> new Candidate(candidate.path(), candidate.sharedTrigrams(), getDistance(normalizedPath, candidate.path().toLowerCase(Locale.ROOT))))
+            .filter(candidate -> candidate.distance() <= Math.max(3, normalizedPath.length() / 2))
+            .sorted(Comparator.comparingInt(Candidate::distance).thenComparing(Comparator.comparingInt(Candidate::sharedTrigrams).reversed()))
+            .limit(limit)
+            .map(Candidate::path)
+            .toList();
+    }
+
+    boolean contains(@NotNull String resourcePath) {
+        return this.ids.containsKey(resourcePath);
+    }
+
+    int size() {
+        return this.ids.size();
+    }
+
+    void add(@NotNull String resourcePath) {
+        if (this.ids.containsKey(resourcePath)) return;
+        int id = this.paths.size();
+        this.paths.add(resourcePath);
+        this.ids.put(resourcePath, id);
+
+        for (long trigram : getTrigrams(getFileName(resourcePath.toLowerCase(Locale.ROOT))))
+            this.postings.computeIfAbsent(trigram, key -> new IntOpenHashSet()).add(id);
+    }
+
+    /**
+     * Removes the given path and, if it is a directory, all paths below it.
+     */
+    void removeTree(@NotNull String resourcePath) {
+        this.remove(resourcePath);
+
+        for (String childPath : new ArrayList<>(this.ids.subMap(resourcePath + "/", resourcePath + "/\uffff").keySet()))
+            this.remove(childPath);
+    }
+
+    private void remove(@NotNull String resourcePath) {
+        Integer id = this.ids.remove(resourcePath);
+        if (id == null) return;
+        this.paths.set(id, null); // Keep ids stable, slots are reclaimed when the index is rebuilt
+
+        for (long trigram : getTrigrams(getFileName(resourcePath.toLowerCase(Locale.ROOT)))) {
+            IntOpenHashSet postingIds = this.postings.get(trigram);
+
+            if (postingIds != null && postingIds.remove((int) id) && postingIds.isEmpty())
+                this.postings.remove(trigram);
+        }
+    }
+
+    private static @NotNull String getFileName(@NotNull String path) {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /**
+     * Packs the trigrams of the given name, padded to match its start and end, into longs.
+     */
+    static long[] getTrigrams(@NotNull String name) {
+        String padded = "\u0002" + name + "\u0003";
+        long[] trigrams = new long[Math.max(0, padded.length() - 2)];
+
+        for (int i = 0; i < trigrams.length; i++)
+            trigrams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16) | padded.charAt(i + 2);
+
+        return trigrams;
+    }
+
+    /**
+     * Computes the Levenshtein distance between two strings.
+     */
+    static int getDistance(@NotNull String first, @NotNull String second) {
+        int[] previous = new int[second.length() + 1];
+        int[] current = new int[second.length() + 1];
+
+        for (int j = 0; j <= second.length(); j++)
+            previous[j] = j;
+
+        for (int i = 1; i <= first.length(); i++) {
+            current[0] = i;
+
+            for (int j = 1; j <= second.length(); j++) {
+                int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+
+        return previous[second.length()];
+    }
+
+    private record Candidate(@NotNull String path, int sharedTrigrams, int distance) { }
+
+}
@@ -0,0 +1,295 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.search.GlobalSearchScope;
+import com.intellij.psi.search.searches.AnnotatedElementsSearch;
+import com.intellij.psi.search.searches.ReferencesSearch;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse index from resolved resource paths to the expressions that reference them.
+ * <p>
+ * Entries are recorded by {@link ResourcePathVisitor} while highlighting, and by an evaluation-only
+ * pass over the candidate files that registers no problems. They are grouped per source file so
+ * that a change only invalidates the entries of the file it happened in and of the files whose
+ * evaluations resolved into it. The index is warmed in the background once the project is smart,
+ * files that changed since their last evaluation are re-indexed on the next query instead of
+ * re-evaluating the whole project.
+ */
+@Service(Service.Level.PROJECT)
+final class ResourcePathUsageIndex implements Disposable {
+
+    private final @NotNull Map<VirtualFile, Map<String, Set<Usage>>> usages = new ConcurrentHashMap<>();
+    private final @NotNull Map<VirtualFile, Set<VirtualFile>> dependents = new ConcurrentHashMap<>();
+    private final @NotNull Set<VirtualFile> dirtyFiles = ConcurrentHashMap.newKeySet();
+    private final @NotNull Project project;
+    private volatile boolean initialized = false;
+
+    public ResourcePathUsageIndex(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static @NotNull ResourcePathUsageIndex getInstance(@NotNull Project project) {
+        return project.getService(ResourcePathUsageIndex.class);
+    }
+
+    /**
+     * Records that the given expression resolves to the given resource path.
+     *
+     * @param source the expression the value was evaluated from
+     * @param base the base folder of the annotation the expression was checked against
+     * @param resourcePath the full resource path, including the base folder
+     */
+    public void record(@NotNull PsiElement source, @NotNull String base, @NotNull String resourcePath) {
+        PsiFile file = source.getContainingFile();
+        if (file == null || file.getVirtualFile() == null) return;
+
+        SmartPsiElementPointer<PsiElement> pointer = SmartPointerManager.getInstance(this.project).createSmartPsiElementPointer(source, file);
+        this.usages.computeIfAbsent(file.getVirtualFile(), key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(resourcePath, key -> ConcurrentHashMap.newKeySet())
+            .add(new Usage(pointer, base, resourcePath));
+
+        // Constants and methods resolved in other files, a change there invalidates this file as well
+        for (VirtualFile dependency : ResourcePathResolver.getInstance(this.project).getDependencies(source))
+            this.dependents.computeIfAbsent(dependency, key -> ConcurrentHashMap.newKeySet()).add(file.getVirtualFile());
+    }
+
+    /**
+     * Drops all entries recorded for the given file and the files depending on it, and schedules them for re-indexing.
+     *
+     * @param file the file that changed
+     */
+    public void markDirty(@NotNull VirtualFile file) {
+        this.usages.remove(file);
+        this.dirtyFiles.add(file);
+        Set<VirtualFile> dependentFiles = this.dependents.remove(file); // Registered again when re-indexed
+
+        if (dependentFiles != null) {
+            for (VirtualFile dependentFile : dependentFiles) {
+                this.usages.remove(dependentFile);
+                this.dirtyFiles.add(dependentFile);
+            }
+        }
+    }
+
+    /**
+     * Finds all expressions resolving to the given resource path.
+     *
+     * @param resourcePath the resource path relative to a source root
+     * @param includeChildren whether paths nested below {@code resourcePath} should match as well
+     * @return the recorded usages, never null
+     */
+    public @NotNull List<Usage> findUsages(@NotNull String resourcePath, boolean includeChildren) {
+        this.ensureUpToDate();
+        List<Usage> result = new ArrayList<>();
+        String childPrefix = resourcePath + "/";
+
+        for (Map<String, Set<Usage>> fileUsages : this.usages.values()) {
+            for (Map.Entry<String, Set<Usage>> entry : fileUsages.entrySet()) {
+                if (entry.getKey().equals(resourcePath) || (includeChildren && entry.getKey().startsWith(childPrefix)))
+                    result.addAll(entry.getValue());
+            }
+        }
+
+        return result;
+    }
+
+    /**
+     * Resolves the path of the given file relative to the first resource root containing it.
+     *
+     * @param project the project to check
+     * @param file the file or directory
+     * @return the relative resource path, or null if the file is outside every source root
+     */
+    public static @Nullable String getResourcePath(@NotNull Project project, @NotNull VirtualFile file) {
+        return getResourcePath(ResourcePathResolver.getInstance(project).getResourceRoots(), file);
+    }
+
+    /**
+     * Resolves the path of the given file relative to the first of the given resource roots containing it.
+     *
+     * @param roots the resource roots, as returned by {@link ResourcePathResolver#getResourceRoots()}
+     * @param file the file or directory
+     * @return the relative resource path, or null if the file is outside every root
+     */
+    static @Nullable String getResourcePath(@NotNull List<VirtualFile> roots, @NotNull VirtualFile file) {
+        for (VirtualFile root : roots) {
+            String relativePath = VfsUtilCore.getRelativePath(file, root);
+            if (relativePath != null && !relativePath.isEmpty()) return relativePath;
+        }
+
+        return null;
+    }
+
+    /**
+     * Indexes the candidate files in a cancellable background read action once the project is smart.
+     */
+    void scheduleWarmUp() {
+        ReadAction.nonBlocking(this::ensureUpToDate)
+            .inSmartMode(this.project)
+            .expireWith(this)
+            .coalesceBy(this)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    @Override
+    public void dispose() {
+        this.usages.clear();
+        this.dependents.clear();
+        this.dirtyFiles.clear();
+    }
+
+    /**
+     * Indexes every candidate file on first use and re-indexes files changed since the last query.
+     */
+    synchronized void ensureUpToDate() {
+        if (DumbService.isDumb(this.project)) return;
+
+        if (!this.initialized)
+            this.dirtyFiles.addAll(this.findCandidateFiles());
+
+        PsiManager psiManager = PsiManager.getInstance(this.project);
+
+        for (VirtualFile file : new ArrayList<>(this.dirtyFiles)) {
+            ProgressManager.checkCanceled();
+            this.usages.remove(file);
+
+            if (file.isValid() && psiManager.findFile(file) instanceof PsiJavaFile javaFile)
+                this.indexFile(javaFile);
+
+            this.dirtyFiles.remove(file); // Only once indexed, a cancelled pass resumes with the remaining files
+        }
+
+        this.initialized = true;
+    }
+
+    /**
+     * Collects every file that declares an annotated element or calls an annotated method.
+     */
+    private @NotNull Set<VirtualFile> findCandidateFiles() {
+        Set<VirtualFile> files = new HashSet<>();
+        GlobalSearchScope scope = GlobalSearchScope.projectScope(this.project);
+        JavaPsiFacade psiFacade = JavaPsiFacade.getInstance(this.project);
+
+        for (String qualifiedName : ResourcePathAnnotations.getInstance(this.project).getQualifiedNames()) {
+            PsiClass annotationClass = psiFacade.findClass(qualifiedName, GlobalSearchScope.allScope(this.project));
+            if (annotationClass == null) continue;
+
+            for (PsiModifierListOwner owner : AnnotatedElementsSearch.searchElements(annotationClass, scope, PsiField.class, PsiMethod.class, PsiParameter.class)) {
+                addFile(files, owner);
+                PsiMethod method = null;
+
+                if (owner instanceof PsiMethod annotatedMethod)
+                    method = annotatedMethod;
+                else if (owner instanceof PsiParameter parameter && parameter.getDeclarationScope() instanceof PsiMethod declaringMethod)
+                    method = declaringMethod;
+
+                if (method != null) {
+                    for (PsiReference reference : ReferencesSearch.search(method, scope))
+                        addFile(files, reference.getElement());
+                }
+            }
+        }
+
+        return files;
+    }
+
+    /**
+     * Evaluates the annotated sites of the given file, the same sites the inspection checks, without
+     * checking existence or registering problems.
+     */
+    private void indexFile(@NotNull PsiJavaFile file) {
+        ResourcePathAnnotations annotations = ResourcePathAnnotations.getInstance(this.project);
+
+        file.accept(new JavaRecursiveElementWalkingVisitor() {
+
+            @Override
+            public void visitEnumConstant(@NotNull PsiEnumConstant enumConstant) {
+                PsiExpressionList arguments = enumConstant.getArgumentList();
+                PsiMethod constructor = arguments == null ? null : enumConstant.resolveConstructor();
+
+                if (constructor != null)
+                    this.indexArguments(arguments.getExpressions(), constructor.getParameterList().getParameters());
+
+                super.visitEnumConstant(enumConstant);
+            }
+
+            @Override
+            public void visitField(@NotNull PsiField field) {
+                if (field.getInitializer() != null)
+                    indexSite(field.getInitializer(), annotations.findAnnotation(field));
+
+                super.visitField(field);
+            }
+
+            @Override
+            public void visitMethodCallExpression(@NotNull PsiMethodCallExpression expression) {
+                PsiMethod method = expression.resolveMethod();
+
+                if (method != null) {
+                    this.indexArguments(expression.getArgumentList().getExpressions(), method.getParameterList().getParameters());
+                    indexSite(expression, annotations.findAnnotation(method));
+                }
+
+                super.visitMethodCallExpression(expression);
+            }
+
+            private void indexArguments(@NotNull PsiExpression[] arguments, @NotNull PsiParameter[] parameters) {
+                for (int i = 0; i < Math.min(arguments.length, parameters.length); i++)
+                    indexSite(arguments[i], annotations.findAnnotation(parameters[i]));
+            }
+
+        });
+    }
+
+    private void indexSite(@NotNull PsiExpression expression, @Nullable PsiAnnotation annotation) {
+        if (annotation == null) return;
+        ProgressManager.checkCanceled();
+        String base = ResourcePathAnnotations.getInstance(this.project).getBaseFolder(annotation);
+
+        for (String value : ResourcePathResolver.getInstance(this.project).evaluate(expression)) {
+            if (value != null && !value.isEmpty())
+                this.record(expression, base, ResourcePathResolver.resolveFullPath(base, value));
+        }
+    }
+
+    private static void addFile(@NotNull Set<VirtualFile> files, @NotNull PsiElement element) {
+        PsiFile file = element.getContainingFile();
+
+        if (file != null && file.getVirtualFile() != null)
+            files.add(file.getVirtualFile());
+    }
+
+    /**
+     * A single expression resolving to a resource path.
+     *
+     * @param pointer the pointer to the evaluated expression
+     * @param base the base folder of the annotation the expression was checked against
+     * @param resourcePath the full resource path, including the base folder
+     */
+    record Usage(@NotNull SmartPsiElementPointer<PsiElement> pointer, @NotNull String base, @NotNull String resourcePath) {
+
+        public @Nullable PsiElement getElement() {
+            return this.pointer.getElement();
+        }
+
+    }
+
+}
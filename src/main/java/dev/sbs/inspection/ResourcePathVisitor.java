@@ -2,15 +2,13 @@ package dev.sbs.inspection;
 
 import com.esotericsoftware.kryo.kryo5.util.Null;
 import com.intellij.codeInspection.LocalInspectionTool;
+import com.intellij.codeInspection.LocalQuickFix;
 import com.intellij.codeInspection.ProblemHighlightType;
 import com.intellij.codeInspection.ProblemsHolder;
 import com.intellij.codeInspection.ex.InspectionProfileImpl;
 import com.intellij.codeInspection.ex.InspectionToolWrapper;
 import com.intellij.lang.annotation.HighlightSeverity;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.roots.ProjectRootManager;
-import com.intellij.openapi.vfs.VirtualFile;
-import com.intellij.openapi.vfs.VirtualFileManager;
 import com.intellij.profile.codeInspection.InspectionProjectProfileManager;
 import com.intellij.psi.*;
 import com.intellij.psi.search.GlobalSearchScope;
@@ -29,17 +27,25 @@ import java.util.Set;
 
 class ResourcePathVisitor {
 
+    private static final int MAX_SUGGESTIONS = 3;
     private final @NotNull Set<PsiAnnotation> visitedAnnotations = new HashSet<>();
     private final @NotNull Set<PsiElement> inspectedExpressions = new HashSet<>();
-    private final @NotNull String annotationPath = "dev.sbs.annotation.ResourcePath";
     private final @NotNull LocalInspectionTool inspectionTool;
     private final @NotNull ProblemsHolder holder;
     private final @NotNull ProblemHighlightType baseHighlightType;
+    private final @NotNull ResourcePathAnnotations annotations;
+    private final @NotNull ResourcePathResolver resolver;
+    private final @NotNull ResourcePathUsageIndex usageIndex;
+    private final @NotNull ResourcePathFuzzyIndex fuzzyIndex;
 
     public ResourcePathVisitor(@NotNull LocalInspectionTool inspectionTool, @NotNull ProblemsHolder holder, @NotNull ProblemHighlightType baseHighlightType) {
         this.inspectionTool = inspectionTool;
         this.holder = holder;
         this.baseHighlightType = baseHighlightType;
+        this.annotations = ResourcePathAnnotations.getInstance(holder.getProject());
+        this.resolver = ResourcePathResolver.getInstance(holder.getProject());
+        this.usageIndex = ResourcePathUsageIndex.getInstance(holder.getProject());
+        this.fuzzyIndex = ResourcePathFuzzyIndex.getInstance(holder.getProject());
     }
 
     public void inspectMethod(@NotNull PsiMethodCallExpression methodCallExpr) {
@@ -50,10 +56,10 @@ class ResourcePathVisitor {
         PsiParameter[] parameters = method.getParameterList().getParameters();
         List<UExpression> arguments = callExpr.getValueArguments();
 
-        this.inspectMethodReturnValue(callExpr, method.getAnnotation(this.annotationPath));
+        this.inspectMethodReturnValue(callExpr, this.annotations.findAnnotation(method));
 
         for (int i = 0; i < Math.min(arguments.size(), parameters.length); i++)
-            this.inspectArgument(arguments.get(i), parameters[i].getAnnotation(this.annotationPath));
+            this.inspectArgument(arguments.get(i), this.annotations.findAnnotation(parameters[i]));
     }
 
     public void inspectField(@NotNull PsiField field) {
@@ -63,11 +69,11 @@ class ResourcePathVisitor {
         if (expression == null) return;
 
         if (expression instanceof UCallExpression uCall)
-            this.inspectMethodReturnValue(uCall, field.getAnnotation(this.annotationPath));
+            this.inspectMethodReturnValue(uCall, this.annotations.findAnnotation(field));
         else if (expression instanceof PsiEnumConstant enumConst)
             this.inspectEnumArguments(enumConst);
         else
-            this.inspectArgument(expression, field.getAnnotation(this.annotationPath));
+            this.inspectArgument(expression, this.annotations.findAnnotation(field));
     }
 
     public void inspectLiteral(@NotNull PsiLiteralExpression literalExpr) {
@@ -110,7 +116,7 @@ class ResourcePathVisitor {
             PsiElement current = reference.getElement();
 
             while (current != null) {
-                if (current instanceof PsiField field && field.getAnnotation(this.annotationPath) != null) {
+                if (current instanceof PsiField field && this.annotations.findAnnotation(field) != null) {
                     this.inspectField(field);
                     break;
                 } else if (current instanceof PsiMethod parentMethod) {
@@ -135,7 +141,7 @@ class ResourcePathVisitor {
         for (int i = 0; i < Math.min(arguments.length, parameters.length); i++) {
             UExpression uArg = UastContextKt.toUElement(arguments[i], UExpression.class);
             if (uArg == null) continue;
-            this.inspectArgument(uArg, parameters[i].getAnnotation(this.annotationPath));
+            this.inspectArgument(uArg, this.annotations.findAnnotation(parameters[i]));
         }
     }
 
@@ -152,28 +158,28 @@ class ResourcePathVisitor {
 
         PsiElement source = expression.getSourcePsi();
         if (source == null || !this.inspectedExpressions.add(source)) return;
-        Set<String> resolvedValues = StringExpressionEvaluator.evaluate(expression);
+        String base = this.annotations.getBaseFolder(annotation);
 
-        for (String value : resolvedValues) {
-            if (value == null || value.isEmpty()) continue;
-            String resourcePath = this.resolveFullPath(annotation, value);
-            if (this.resourceExists(resourcePath, this.holder.getProject(), false)) continue;
-            this.holder.registerProblem(source, "Missing Resource File: " + resourcePath, this.getHighlightType());
+        for (ResolvedResourcePath resolved : this.resolver.resolve(source, base)) {
+            this.usageIndex.record(source, base, resolved.path());
+            if (resolved.exists()) continue;
+            this.holder.registerProblem(source, "Missing Resource File: " + resolved.path(), this.getHighlightType(), this.getSuggestionFixes(source, base, resolved));
         }
     }
 
     /**
-     * Retrieves the 'base' folder from the {@code ResourcePath} annotation if present.
-     * If not present, returns an empty string (root).
-     *
-     * @param annotation the ResourcePath annotation to check
-     * @return the base folder path or empty string if none specified
+     * Suggests the closest existing paths under the base folder, only offered for plain literals which can be replaced directly.
      */
-    private @NotNull String getBaseFolder(@NotNull PsiAnnotation annotation) {
-        if (annotation.findAttributeValue("base") instanceof PsiLiteralExpression literal && literal.getValue() instanceof String strValue)
-            return strValue;
+    private @NotNull LocalQuickFix[] getSuggestionFixes(@NotNull PsiElement source, @NotNull String base, @NotNull ResolvedResourcePath resolved) {
+        if (!(source instanceof PsiLiteralExpression literal) || !resolved.value().equals(literal.getValue()))
+            return LocalQuickFix.EMPTY_ARRAY;
+
+        String prefix = base.isEmpty() ? "" : base + "/";
 
-        return "";
+        return this.fuzzyIndex.suggest(resolved.path(), base, MAX_SUGGESTIONS)
+            .stream()
+            .map(path -> new ReplaceResourcePathFix(path.substring(prefix.length())))
+            .toArray(LocalQuickFix[]::new);
     }
 
     /**
@@ -184,9 +190,9 @@ class ResourcePathVisitor {
      * @return {@code true} if the base folder exists or validation passes; {@code false} otherwise
      */
     private boolean validateBaseFolder(@NotNull PsiAnnotation annotation) {
-        String base = getBaseFolder(annotation);
+        String base = this.annotations.getBaseFolder(annotation);
 
-        if (!resourceExists(base, this.holder.getProject(), true)) {
+        if (!this.resolver.exists(base, true)) {
             PsiNameValuePair[] attributes = annotation.getParameterList().getAttributes();
 
             for (PsiNameValuePair pair : attributes) {
@@ -195,40 +201,17 @@ class ResourcePathVisitor {
                     return false;
                 }
             }
-        }
-
-        return true;
-    }
-
-    private String resolveFullPath(@NotNull PsiAnnotation annotation, @NotNull String value) {
-        String base = getBaseFolder(annotation);
-        return base.isEmpty() ? value : base + "/" + value;
-    }
-
-    /**
-     * Checks if the resource exists in the given project's resource directory.
-     *
-     * @param path the resource path
-     * @param project the project to check
-     * @return true if resource exists or path is null/empty, false otherwise
-     */
-    private boolean resourceExists(String path, @NotNull Project project, boolean isDirectory) {
-        if (path == null || path.trim().isEmpty()) return true;
-
-        String normalizedPath = path.replace('\\', '/');
-        String basePath = project.getBasePath();
-        if (basePath == null) return false;
 
-        VirtualFile baseDir = VirtualFileManager.getInstance().findFileByUrl("file://" + basePath);
-        if (baseDir == null) return false;
+            // Base preset by a meta-annotation
+            PsiJavaCodeReferenceElement nameReference = annotation.getNameReferenceElement();
 
-        // Try relative to source/resource roots
-        for (VirtualFile root : ProjectRootManager.getInstance(project).getContentSourceRoots()) {
-            VirtualFile candidate = root.findFileByRelativePath(normalizedPath);
-            if (candidate != null) return isDirectory == candidate.isDirectory();
+            if (nameReference != null) {
+                this.holder.registerProblem(nameReference, "Invalid Base Directory: " + base, this.baseHighlightType);
+                return false;
+            }
         }
 
-        return false;
+        return true;
     }
 
     /**
@@ -240,11 +223,21 @@ class ResourcePathVisitor {
      *         never null
      */
     private @NotNull ProblemHighlightType getHighlightType() {
-        InspectionProfileImpl profile = InspectionProjectProfileManager.getInstance(this.holder.getProject()).getCurrentProfile();
-        InspectionToolWrapper<?, ?> inspectionTool = profile.getInspectionTool(this.inspectionTool.getShortName(), this.holder.getFile());
-        if (inspectionTool == null || inspectionTool.getDisplayKey() == null) return ProblemHighlightType.ERROR;
-        HighlightSeverity severity = profile.getErrorLevel(inspectionTool.getDisplayKey(), this.holder.getFile()).getSeverity();
-        return mapSeverityToHighlightType(severity);
+        return mapSeverityToHighlightType(getSeverity(this.holder.getFile(), this.inspectionTool.getShortName()));
+    }
+
+    /**
+     * Retrieves the severity configured for an inspection in the current profile of the file's project.
+     *
+     * @param file the inspected file
+     * @param shortName the short name of the inspection
+     * @return the configured severity, or {@link HighlightSeverity#ERROR} if the inspection is not registered
+     */
+    static @NotNull HighlightSeverity getSeverity(@NotNull PsiFile file, @NotNull String shortName) {
+        InspectionProfileImpl profile = InspectionProjectProfileManager.getInstance(file.getProject()).getCurrentProfile();
+        InspectionToolWrapper<?, ?> inspectionTool = profile.getInspectionTool(shortName, file);
+        if (inspectionTool == null || inspectionTool.getDisplayKey() == null) return HighlightSeverity.ERROR;
+        return profile.getErrorLevel(inspectionTool.getDisplayKey(), file).getSeverity();
     }
 
     private @NotNull ProblemHighlightType mapSeverityToHighlightType(@NotNull HighlightSeverity severity) {
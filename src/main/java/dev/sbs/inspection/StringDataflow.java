@@ -0,0 +1,361 @@
+package dev.sbs.inspection;
+
+import com.intellij.openapi.util.Key;
+import com.intellij.psi.*;
+import com.intellij.psi.controlFlow.AnalysisCanceledException;
+import com.intellij.psi.controlFlow.ControlFlow;
+import com.intellij.psi.controlFlow.ControlFlowFactory;
+import com.intellij.psi.controlFlow.Instruction;
+import com.intellij.psi.controlFlow.LocalsOrMyInstanceFieldsControlFlowPolicy;
+import com.intellij.psi.controlFlow.ReadVariableInstruction;
+import com.intellij.psi.controlFlow.WriteVariableInstruction;
+import com.intellij.psi.tree.IElementType;
+import com.intellij.psi.util.CachedValue;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.psi.util.PsiUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.uast.UExpression;
+import org.jetbrains.uast.UastContextKt;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Forward dataflow analysis computing the reaching string values of every local variable and
+ * parameter at each instruction of a method's control-flow graph.
+ * <p>
+ * Reassignments, compound {@code +=} assignments, {@code StringBuilder.append} calls and
+ * branch merges are tracked in a single pass. Each variable holds a bounded set of values,
+ * exceeding {@link #MAX_VALUES} widens it to unknown, which keeps loops cheap. Results are
+ * cached per method and parameter bindings until the next PSI modification, unless a recursive
+ * call was cut short, since such a result depends on the methods its caller was evaluating.
+ */
+final class StringDataflow {
+
+    static final int MAX_VALUES = 32;
+    private static final int MAX_VISITS_PER_INSTRUCTION = 64;
+    private static final @NotNull Set<String> UNKNOWN = Collections.unmodifiableSet(new HashSet<>());
+    private static final @NotNull Key<CachedValue<Map<Map<PsiVariable, Set<String>>, StringDataflow>>> RESULTS_KEY = Key.create("dev.sbs.inspection.StringDataflow.results");
+
+    private final @NotNull ControlFlow flow;
+    private final @NotNull Map<PsiVariable, Set<String>>[] states;
+    private final @NotNull Set<String> returnValues = new HashSet<>();
+    private final @NotNull StringExpressionEvaluator.Dependencies dependencies = new StringExpressionEvaluator.Dependencies();
+
+    @SuppressWarnings("unchecked")
+    private StringDataflow(@NotNull ControlFlow flow) {
+        this.flow = flow;
+        this.states = new Map[flow.getSize() + 1];
+    }
+
+    /**
+     * Evaluates all values returned by the given method.
+     *
+     * @param method the method to analyze
+     * @param bindings the evaluated arguments keyed by parameter, an empty set marks an unknown argument
+     * @param visitedMethods the methods currently being evaluated
+     * @param dependencies collects the files the evaluation resolved into
+     * @return the returned values, empty if unknown
+     */
+    static @NotNull Set<String> getReturnValues(
+        @NotNull PsiMethod method,
+        @NotNull Map<PsiVariable, Set<String>> bindings,
+        @NotNull Set<PsiMethod> visitedMethods,
+        @NotNull StringExpressionEvaluator.Dependencies dependencies
+    ) {
+        StringDataflow dataflow = analyze(method, bindings, visitedMethods);
+        if (dataflow == null) return Collections.emptySet();
+        dependencies.addAll(dataflow.dependencies);
+        return dataflow.returnValues;
+    }
+
+    /**
+     * Evaluates the values of a local variable reaching the given reference, with unknown parameters.
+     *
+     * @param reference the reference to the variable
+     * @param variable the local variable
+     * @param visitedMethods the methods currently being evaluated
+     * @param dependencies collects the files the evaluation resolved into
+     * @return the reaching values, or null if the reference is not part of an analyzable method body
+     */
+    static @Nullable Set<String> getReachingValues(
+        @NotNull PsiElement reference,
+        @NotNull PsiLocalVariable variable,
+        @NotNull Set<PsiMethod> visitedMethods,
+        @NotNull StringExpressionEvaluator.Dependencies dependencies
+    ) {
+        PsiMethod method = PsiTreeUtil.getParentOfType(reference, PsiMethod.class, true, PsiClass.class, PsiLambdaExpression.class);
+        if (method == null || !PsiTreeUtil.isAncestor(method, variable, true)) return null;
+
+        if (visitedMethods.contains(method)) {
+            dependencies.markTruncated();
+            return null;
+        }
+
+        visitedMethods.add(method);
+        StringDataflow dataflow = analyze(method, Collections.emptyMap(), visitedMethods);
+        visitedMethods.remove(method);
+        if (dataflow == null) return null;
+
+        int offset = dataflow.flow.getStartOffset(reference);
+        if (offset < 0) return null;
+        dependencies.addAll(dataflow.dependencies);
+        Map<PsiVariable, Set<String>> state = dataflow.states[offset];
+        if (state == null) return Collections.emptySet(); // Unreachable
+        Set<String> values = state.get(variable);
+        return values == null || values == UNKNOWN ? Collections.emptySet() : values;
+    }
+
+    private static @Nullable StringDataflow analyze(@NotNull PsiMethod method, @NotNull Map<PsiVariable, Set<String>> bindings, @NotNull Set<PsiMethod> visitedMethods) {
+        PsiCodeBlock body = method.getBody();
+        if (body == null) return null;
+
+        Map<Map<PsiVariable, Set<String>>, StringDataflow> results = CachedValuesManager.getCachedValue(method, RESULTS_KEY, () ->
+            CachedValueProvider.Result.create(new ConcurrentHashMap<>(), PsiModificationTracker.MODIFICATION_COUNT)
+        );
+        StringDataflow cached = results.get(bindings);
+        if (cached != null) return cached;
+
+        ControlFlow flow;
+
+        try {
+            flow = ControlFlowFactory.getInstance(method.getProject()).getControlFlow(body, LocalsOrMyInstanceFieldsControlFlowPolicy.getInstance());
+        } catch (AnalysisCanceledException exception) {
+            return null;
+        }
+
+        StringDataflow dataflow = new StringDataflow(flow);
+        dataflow.run(method, bindings, visitedMethods);
+
+        if (!dataflow.dependencies.isTruncated())
+            results.put(Map.copyOf(bindings), dataflow);
+
+        return dataflow;
+    }
+
+    private void run(@NotNull PsiMethod method, @NotNull Map<PsiVariable, Set<String>> bindings, @NotNull Set<PsiMethod> visitedMethods) {
+        Map<PsiVariable, Set<String>> entry = new HashMap<>();
+
+        for (PsiParameter parameter : method.getParameterList().getParameters()) {
+            Set<String> values = bindings.get(parameter);
+            entry.put(parameter, values == null || values.isEmpty() ? UNKNOWN : bound(values));
+        }
+
+        List<Instruction> instructions = this.flow.getInstructions();
+        int[] visits = new int[instructions.size()];
+        Deque<Integer> worklist = new ArrayDeque<>();
+        this.states[0] = entry;
+        worklist.add(0);
+
+        while (!worklist.isEmpty()) {
+            int offset = worklist.poll();
+            if (offset >= instructions.size() || visits[offset]++ > MAX_VISITS_PER_INSTRUCTION) continue;
+            Instruction instruction = instructions.get(offset);
+            Map<PsiVariable, Set<String>> out = this.transfer(offset, instruction, this.states[offset], visitedMethods);
+
+            for (int i = 0; i < instruction.nNext(); i++) {
+                int next = instruction.getNext(offset, i);
+                if (next < 0 || next > instructions.size()) continue;
+                Map<PsiVariable, Set<String>> merged = join(this.states[next], out);
+
+                if (!merged.equals(this.states[next])) {
+                    this.states[next] = merged;
+                    worklist.add(next);
+                }
+            }
+        }
+
+        this.collectReturnValues(visitedMethods);
+    }
+
+    private @NotNull Map<PsiVariable, Set<String>> transfer(int offset, @NotNull Instruction instruction, @NotNull Map<PsiVariable, Set<String>> in, @NotNull Set<PsiMethod> visitedMethods) {
+        if (instruction instanceof WriteVariableInstruction write) {
+            Map<PsiVariable, Set<String>> out = new HashMap<>(in);
+            out.put(write.variable, this.evaluateWrite(this.flow.getElement(offset), write.variable, in, visitedMethods));
+            return out;
+        }
+
+        if (instruction instanceof ReadVariableInstruction read && isStringBuilder(read.variable)) {
+            Set<String> appended = this.evaluateAppend(this.flow.getElement(offset), read.variable, in, visitedMethods);
+
+            if (appended != null) {
+                Map<PsiVariable, Set<String>> out = new HashMap<>(in);
+                out.put(read.variable, appended);
+                return out;
+            }
+        }
+
+        return in;
+    }
+
+    /**
+     * Evaluates the value written to a variable by a declaration, assignment or compound assignment.
+     * <p>
+     * The written expression is evaluated against the state before its own instructions, builder
+     * reads inside it such as {@code sb.append("a").toString()} already updated the state by the
+     * time the write is reached and would otherwise be appended twice.
+     */
+    private @NotNull Set<String> evaluateWrite(@Nullable PsiElement element, @NotNull PsiVariable variable, @NotNull Map<PsiVariable, Set<String>> in, @NotNull Set<PsiMethod> visitedMethods) {
+        if (element == null) return UNKNOWN;
+
+        if (variable instanceof PsiLocalVariable local && local.getInitializer() != null && PsiTreeUtil.isAncestor(element, local, false)) {
+            PsiExpression initializer = local.getInitializer();
+            Map<PsiVariable, Set<String>> before = this.getStateBefore(initializer, in);
+            return isStringBuilder(local) ? this.evaluateBuilderInitializer(initializer, before, visitedMethods) : this.evaluate(initializer, before, visitedMethods);
+        }
+
+        PsiAssignmentExpression assignment = PsiTreeUtil.getParentOfType(element, PsiAssignmentExpression.class, false);
+        if (assignment == null || !(PsiUtil.skipParenthesizedExprDown(assignment.getLExpression()) instanceof PsiReferenceExpression target) || !target.isReferenceTo(variable))
+            return UNKNOWN;
+
+        IElementType operation = assignment.getOperationTokenType();
+        Map<PsiVariable, Set<String>> before = this.getStateBefore(assignment.getRExpression(), in);
+        Set<String> value = this.evaluate(assignment.getRExpression(), before, visitedMethods);
+
+        if (operation == JavaTokenType.EQ)
+            return value;
+
+        if (operation == JavaTokenType.PLUSEQ)
+            return concat(before.get(variable), value);
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Returns the state reaching the first instruction of the given expression, or the fallback if it has none.
+     */
+    private @NotNull Map<PsiVariable, Set<String>> getStateBefore(@Nullable PsiExpression expression, @NotNull Map<PsiVariable, Set<String>> fallback) {
+        if (expression == null) return fallback;
+        int offset = this.flow.getStartOffset(expression);
+        return offset < 0 || this.states[offset] == null ? fallback : this.states[offset];
+    }
+
+    /**
+     * Evaluates {@code builder.append(a).append(b)} chains starting at a read of the builder variable.
+     *
+     * @return the updated builder values, or null if the read is not the receiver of an append chain
+     */
+    private @Nullable Set<String> evaluateAppend(@Nullable PsiElement element, @NotNull PsiVariable variable, @NotNull Map<PsiVariable, Set<String>> in, @NotNull Set<PsiMethod> visitedMethods) {
+        if (!(element instanceof PsiReferenceExpression reference)) return null;
+        PsiElement current = reference;
+        Set<String> values = in.get(variable);
+        boolean appended = false;
+
+        while (current.getParent() instanceof PsiReferenceExpression methodExpression
+            && methodExpression.getQualifierExpression() == current
+            && "append".equals(methodExpression.getReferenceName())
+            && methodExpression.getParent() instanceof PsiMethodCallExpression call) {
+            PsiExpression[] arguments = call.getArgumentList().getExpressions();
+            values = arguments.length == 1 ? concat(values, this.evaluate(arguments[0], in, visitedMethods)) : UNKNOWN;
+            appended = true;
+            current = call;
+        }
+
+        return appended ? values : null;
+    }
+
+    private @NotNull Set<String> evaluateBuilderInitializer(@NotNull PsiExpression initializer, @NotNull Map<PsiVariable, Set<String>> in, @NotNull Set<PsiMethod> visitedMethods) {
+        if (initializer instanceof PsiNewExpression newExpression && newExpression.getArgumentList() != null) {
+            PsiExpression[] arguments = newExpression.getArgumentList().getExpressions();
+            if (arguments.length == 0) return Collections.singleton("");
+            if (arguments.length == 1 && arguments[0].getType() != null && arguments[0].getType().equalsToText(CommonClassNames.JAVA_LANG_STRING))
+                return this.evaluate(arguments[0], in, visitedMethods);
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Collects the values reaching each return statement of the method.
+     */
+    private void collectReturnValues(@NotNull Set<PsiMethod> visitedMethods) {
+        Set<PsiReturnStatement> returnStatements = new HashSet<>();
+
+        for (int offset = 0; offset < this.flow.getSize(); offset++) {
+            PsiReturnStatement returnStatement = PsiTreeUtil.getParentOfType(this.flow.getElement(offset), PsiReturnStatement.class, false);
+            if (returnStatement == null || !returnStatements.add(returnStatement)) continue;
+
+            int startOffset = this.flow.getStartOffset(returnStatement);
+            if (startOffset < 0 || this.states[startOffset] == null) continue; // Unreachable
+
+            this.returnValues.addAll(this.evaluate(returnStatement.getReturnValue(), this.states[startOffset], visitedMethods));
+        }
+    }
+
+    /**
+     * Evaluates an expression with the given variable values.
+     * <p>
+     * Values are handed to the evaluator keyed by variable, so locals of sibling scopes sharing a
+     * name, or fields shadowed by them, never see each other's values.
+     */
+    private @NotNull Set<String> evaluate(@Nullable PsiExpression expression, @NotNull Map<PsiVariable, Set<String>> state, @NotNull Set<PsiMethod> visitedMethods) {
+        if (expression == null) return UNKNOWN;
+        UExpression uExpression = UastContextKt.toUElement(expression, UExpression.class);
+        if (uExpression == null) return UNKNOWN;
+        Map<PsiVariable, Set<String>> intermediateVars = new HashMap<>();
+
+        for (Map.Entry<PsiVariable, Set<String>> entry : state.entrySet()) {
+            if (entry.getKey() instanceof PsiLocalVariable || entry.getKey() instanceof PsiParameter)
+                intermediateVars.put(entry.getKey(), entry.getValue() == UNKNOWN ? Collections.emptySet() : entry.getValue());
+        }
+
+        Set<String> values = StringExpressionEvaluator.evaluate(uExpression, visitedMethods, intermediateVars, this.dependencies);
+        return values.isEmpty() ? UNKNOWN : bound(values);
+    }
+
+    private static @NotNull Map<PsiVariable, Set<String>> join(@Nullable Map<PsiVariable, Set<String>> left, @NotNull Map<PsiVariable, Set<String>> right) {
+        if (left == null) return right;
+        if (left.equals(right)) return left;
+        Map<PsiVariable, Set<String>> merged = new HashMap<>(left);
+
+        for (Map.Entry<PsiVariable, Set<String>> entry : right.entrySet())
+            merged.merge(entry.getKey(), entry.getValue(), StringDataflow::union);
+
+        return merged;
+    }
+
+    private static @NotNull Set<String> union(@NotNull Set<String> left, @NotNull Set<String> right) {
+        if (left == UNKNOWN || right == UNKNOWN) return UNKNOWN;
+        if (left.containsAll(right)) return left;
+        Set<String> union = new HashSet<>(left);
+        union.addAll(right);
+        return bound(union);
+    }
+
+    private static @NotNull Set<String> concat(@Nullable Set<String> left, @NotNull Set<String> right) {
+        if (left == null || left == UNKNOWN || right == UNKNOWN) return UNKNOWN;
+        if ((long) left.size() * right.size() > MAX_VALUES) return UNKNOWN;
+        Set<String> result = new HashSet<>();
+
+        for (String prefix : left) {
+            for (String suffix : right)
+                result.add(prefix + suffix);
+        }
+
+        return result;
+    }
+
+    /**
+     * Widens value sets exceeding {@link #MAX_VALUES} to unknown.
+     */
+    private static @NotNull Set<String> bound(@NotNull Set<String> values) {
+        return values.size() > MAX_VALUES ? UNKNOWN : values;
+    }
+
+    private static boolean isStringBuilder(@NotNull PsiVariable variable) {
+        PsiType type = variable.getType();
+        return type.equalsToText(CommonClassNames.JAVA_LANG_STRING_BUILDER) || type.equalsToText(CommonClassNames.JAVA_LANG_STRING_BUFFER);
+    }
+
+}
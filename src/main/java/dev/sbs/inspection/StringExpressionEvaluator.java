@@ -2,6 +2,7 @@ package dev.sbs.inspection;
 
 import com.intellij.psi.*;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.uast.*;
 
 import java.util.HashMap;
@@ -13,13 +14,25 @@ import java.util.Set;
 class StringExpressionEvaluator {
 
     public static @NotNull Set<String> evaluate(@NotNull UExpression expression) {
-        return evaluate(expression, new HashSet<>(), new HashMap<>());//.values;
+        return evaluate(expression, new Dependencies());
     }
 
-    private static @NotNull Set<String> evaluate(
+    /**
+     * Evaluates all possible string values of the given expression.
+     *
+     * @param expression the expression to evaluate
+     * @param dependencies collects the files of every field, variable and method the evaluation resolved into
+     * @return the possible values, empty if unknown
+     */
+    public static @NotNull Set<String> evaluate(@NotNull UExpression expression, @NotNull Dependencies dependencies) {
+        return evaluate(expression, new HashSet<>(), new HashMap<>(), dependencies);//.values;
+    }
+
+    static @NotNull Set<String> evaluate(
         @NotNull UExpression expression,
         @NotNull Set<PsiMethod> visitedMethods,
-        @NotNull Map<String, Set<String>> intermediateVars
+        @NotNull Map<PsiVariable, Set<String>> intermediateVars,
+        @NotNull Dependencies dependencies
     ) {
         Set<String> result = new HashSet<>();
         expression = UastContextKt.toUElement(expression.getSourcePsi(), UExpression.class); // Prevent Stale Reference
@@ -35,86 +48,99 @@ class StringExpressionEvaluator {
                 "",
                 combinedResults,
                 visitedMethods,
-                intermediateVars
+                intermediateVars,
+                dependencies
             );
 
             result.addAll(combinedResults);
         } else if (expression instanceof USimpleNameReferenceExpression ref) { // Fields & Local Variables
-            String name = ref.getIdentifier();
+            PsiElement resolved = ref.resolve();
 
-            if (intermediateVars.containsKey(name)) {
-                Set<String> subResult = intermediateVars.get(name);
+            if (resolved instanceof PsiVariable variable && intermediateVars.containsKey(variable)) {
+                Set<String> subResult = intermediateVars.get(variable);
                 result.addAll(subResult);
             } else {
-                PsiElement resolved = ref.resolve();
+                if (resolved == null)
+                    dependencies.markIncomplete(); // May resolve once the referenced member is declared
+
+                dependencies.add(resolved);
                 UExpression initExpr = null;
+                Set<String> reachingValues = null;
 
-                if (resolved instanceof PsiField field && field.hasModifierProperty(PsiModifier.FINAL) && field.getInitializer() != null)
+                if (resolved instanceof PsiLocalVariable local && ref.getSourcePsi() != null)
+                    reachingValues = StringDataflow.getReachingValues(ref.getSourcePsi(), local, visitedMethods, dependencies);
+
+                if (reachingValues != null)
+                    result.addAll(reachingValues);
+                else if (resolved instanceof PsiField field && field.hasModifierProperty(PsiModifier.FINAL) && field.getInitializer() != null)
                     initExpr = UastContextKt.toUElement(field.getInitializer(), UExpression.class);
                 else if (resolved instanceof PsiLocalVariable local && local.getInitializer() != null)
                     initExpr = UastContextKt.toUElement(local.getInitializer(), UExpression.class);
 
                 if (initExpr != null)
-                    result.addAll(evaluate(initExpr, visitedMethods, intermediateVars));
+                    result.addAll(evaluate(initExpr, visitedMethods, intermediateVars, dependencies));
             }
         } else if (expression instanceof UCallExpression callExpr) { // Method Calls
             PsiMethod method = callExpr.resolve();
 
+            if (method == null)
+                dependencies.markIncomplete(); // May resolve once the called method is declared
+
+            if (method != null && visitedMethods.contains(method))
+                dependencies.markTruncated(); // Recursive call, the value depends on where the recursion was entered
+
             if (method != null && !visitedMethods.contains(method)) {
                 visitedMethods.add(method);
                 PsiCodeBlock body = method.getBody();
 
                 if (body != null) {
+                    dependencies.add(method); // Compiled methods without a body contribute no value
                     // Evaluate arguments of the call
                     List<UExpression> args = callExpr.getValueArguments();
                     PsiParameter[] params = method.getParameterList().getParameters();
 
                     // Map parameters to evaluated argument values
-                    Map<String, Set<String>> paramBindings = new HashMap<>();
+                    Map<PsiVariable, Set<String>> paramBindings = new HashMap<>();
                     for (int i = 0; i < Math.min(args.size(), params.length); i++) {
-                        Set<String> argEval = evaluate(args.get(i), visitedMethods, intermediateVars);
-                        paramBindings.put(params[i].getName(), argEval);
-                    }
-
-                    Map<String, Set<String>> localVars = new HashMap<>(paramBindings);
-
-                    // Evaluate method body recursively
-                    for (PsiStatement statement : body.getStatements()) {
-                        if (statement instanceof PsiDeclarationStatement declStmt) {
-                            for (PsiElement element : declStmt.getDeclaredElements()) {
-                                if (element instanceof PsiLocalVariable local && local.getInitializer() != null) {
-                                    UExpression initExpr = UastContextKt.toUElement(local.getInitializer(), UExpression.class);
-
-                                    if (initExpr != null)
-                                        localVars.put(local.getName(), evaluate(initExpr, visitedMethods, localVars));
-                                }
-                            }
-                        }
+                        Set<String> argEval = evaluate(args.get(i), visitedMethods, intermediateVars, dependencies);
+                        paramBindings.put(params[i], argEval);
                     }
 
-                    // Return Statements
-                    for (PsiReturnStatement returnStmt : collectReturnStatements(body)) {
-                        PsiExpression returnValue = returnStmt.getReturnValue();
-
-                        if (returnValue != null) {
-                            UExpression returnExpr = UastContextKt.toUElement(returnValue, UExpression.class);
-
-                            if (returnExpr != null)
-                                result.addAll(evaluate(returnExpr, visitedMethods, localVars));
-                        }
-                    }
+                    // Evaluate method body with dataflow over its control-flow graph
+                    result.addAll(StringDataflow.getReturnValues(method, paramBindings, visitedMethods, dependencies));
                 }
 
                 visitedMethods.remove(method);
             }
+        } else if (expression instanceof UParenthesizedExpression parenthesized) { // Parentheses
+            result.addAll(evaluate(parenthesized.getExpression(), visitedMethods, intermediateVars, dependencies));
+        } else if (expression instanceof UIfExpression ifExpr && ifExpr.isTernary()) { // Ternaries
+            if (ifExpr.getThenExpression() != null)
+                result.addAll(evaluate(ifExpr.getThenExpression(), visitedMethods, intermediateVars, dependencies));
+
+            if (ifExpr.getElseExpression() != null)
+                result.addAll(evaluate(ifExpr.getElseExpression(), visitedMethods, intermediateVars, dependencies));
+        } else if (expression instanceof UQualifiedReferenceExpression qualified && isToStringCall(qualified)) { // StringBuilder Chains
+            result.addAll(evaluateBuilderChain(qualified.getReceiver(), visitedMethods, intermediateVars, dependencies));
         } else if (expression instanceof UQualifiedReferenceExpression qualified) { // Enum Fields
-            result.addAll(resolveEnumFieldAccess(qualified, visitedMethods, intermediateVars));
+            result.addAll(resolveEnumFieldAccess(qualified, visitedMethods, intermediateVars, dependencies));
         } else if (expression instanceof UDeclarationsExpression declarations) { // UAST Local Variables
             for (UDeclaration decl : declarations.getDeclarations()) {
                 if (decl instanceof UVariable local) {
                     UExpression initExpr = local.getUastInitializer();
                     if (initExpr == null) continue;
-                    result.addAll(evaluate(initExpr, visitedMethods, intermediateVars));
+                    result.addAll(evaluate(initExpr, visitedMethods, intermediateVars, dependencies));
+                }
+            }
+        }
+
+        if (result.isEmpty() && expression != null) { // Contributed Resolvers
+            for (ResourcePathContributor contributor : ResourcePathContributor.EP_NAME.getExtensionList()) {
+                Set<String> contributed = contributor.resolveValues(expression);
+
+                if (!contributed.isEmpty()) {
+                    dependencies.markIncomplete(); // Contributed values change without any file changing
+                    result.addAll(contributed);
                 }
             }
         }
@@ -122,18 +148,51 @@ class StringExpressionEvaluator {
         return result;
     }
 
-    @SuppressWarnings("all")
-    private static Set<PsiReturnStatement> collectReturnStatements(@NotNull PsiElement element) {
-        Set<PsiReturnStatement> results = new HashSet<>();
+    private static boolean isToStringCall(@NotNull UQualifiedReferenceExpression qualified) {
+        return qualified.getSelector() instanceof UCallExpression call
+            && "toString".equals(call.getMethodName())
+            && call.getValueArgumentCount() == 0;
+    }
 
-        element.accept(new JavaRecursiveElementWalkingVisitor() {
-            @Override
-            public void visitReturnStatement(@NotNull PsiReturnStatement statement) {
-                results.add(statement);
+    /**
+     * Evaluates {@code new StringBuilder(a).append(b).append(c)} chains and builder variables.
+     */
+    private static @NotNull Set<String> evaluateBuilderChain(
+        @NotNull UExpression receiver,
+        @NotNull Set<PsiMethod> visitedMethods,
+        @NotNull Map<PsiVariable, Set<String>> intermediateVars,
+        @NotNull Dependencies dependencies
+    ) {
+        if (receiver instanceof UQualifiedReferenceExpression qualified
+            && qualified.getSelector() instanceof UCallExpression call
+            && "append".equals(call.getMethodName())
+            && call.getValueArgumentCount() == 1) {
+            Set<String> prefixes = evaluateBuilderChain(qualified.getReceiver(), visitedMethods, intermediateVars, dependencies);
+            if (prefixes.isEmpty()) return prefixes;
+            Set<String> suffixes = evaluate(call.getValueArguments().get(0), visitedMethods, intermediateVars, dependencies);
+            Set<String> result = new HashSet<>();
+
+            for (String prefix : prefixes) {
+                for (String suffix : suffixes)
+                    result.add(prefix + suffix);
             }
-        });
 
-        return results;
+            return result;
+        }
+
+        if (receiver instanceof UCallExpression constructor && constructor.getKind() == UastCallKind.CONSTRUCTOR_CALL) {
+            PsiType type = constructor.getReturnType();
+            if (type == null || !(type.equalsToText(CommonClassNames.JAVA_LANG_STRING_BUILDER) || type.equalsToText(CommonClassNames.JAVA_LANG_STRING_BUFFER)))
+                return new HashSet<>();
+
+            if (constructor.getValueArgumentCount() == 0)
+                return new HashSet<>(Set.of(""));
+
+            return evaluate(constructor.getValueArguments().get(0), visitedMethods, intermediateVars, dependencies);
+        }
+
+        // Builder variables, tracked by the dataflow analysis
+        return evaluate(receiver, visitedMethods, intermediateVars, dependencies);
     }
 
     private static void combineOperandsWithDeps(
@@ -142,7 +201,8 @@ class StringExpressionEvaluator {
         String current,
         Set<String> resultValues,
         Set<PsiMethod> visitedMethods,
-        Map<String, Set<String>> intermediateVars
+        Map<PsiVariable, Set<String>> intermediateVars,
+        Dependencies dependencies
     ) {
         if (index >= operands.size()) {
             resultValues.add(current);
@@ -150,7 +210,7 @@ class StringExpressionEvaluator {
         }
 
         UExpression operand = operands.get(index);
-        Set<String> eval = evaluate(operand, visitedMethods, intermediateVars);
+        Set<String> eval = evaluate(operand, visitedMethods, intermediateVars, dependencies);
 
         if (eval.isEmpty()) {
             // Treat it as an unknown part, skip combining
@@ -164,7 +224,8 @@ class StringExpressionEvaluator {
                 current + val,
                 resultValues,
                 visitedMethods,
-                intermediateVars
+                intermediateVars,
+                dependencies
             );
         }
     }
@@ -172,14 +233,22 @@ class StringExpressionEvaluator {
     private static @NotNull Set<String> resolveEnumFieldAccess(
         @NotNull UQualifiedReferenceExpression qualifiedExpr,
         @NotNull Set<PsiMethod> visitedMethods,
-        @NotNull Map<String, Set<String>> intermediateVars
+        @NotNull Map<PsiVariable, Set<String>> intermediateVars,
+        @NotNull Dependencies dependencies
     ) {
         Set<String> result = new HashSet<>();
         UExpression receiver = qualifiedExpr.getReceiver();
         String selectorName = qualifiedExpr.getResolvedName();
+        PsiElement resolved = qualifiedExpr.resolve();
+
+        if (resolved == null)
+            dependencies.markIncomplete(); // May resolve once the referenced member is declared
+
+        dependencies.add(resolved);
 
         if (receiver instanceof UQualifiedReferenceExpression receiverQualified) {
             PsiElement baseResolved = receiverQualified.resolve();
+            dependencies.add(baseResolved);
 
             if (baseResolved instanceof PsiEnumConstant enumConst && selectorName != null) {
                 PsiClass enumClass = enumConst.getContainingClass();
@@ -210,7 +279,7 @@ class StringExpressionEvaluator {
                                 UExpression argUExpr = UastContextKt.toUElement(args[i], UExpression.class);
 
                                 if (argUExpr != null)
-                                    result.addAll(evaluate(argUExpr, visitedMethods, intermediateVars));
+                                    result.addAll(evaluate(argUExpr, visitedMethods, intermediateVars, dependencies));
 
                                 break;
                             }
@@ -223,4 +292,54 @@ class StringExpressionEvaluator {
         return result;
     }
 
+    /**
+     * Collects the files an evaluation resolved into, and whether its values may change without
+     * any of these files changing.
+     * <p>
+     * An evaluation is incomplete if a reference did not resolve or a contributor supplied values,
+     * such results are only valid until the next PSI modification and must not be persisted. An
+     * evaluation is truncated if a recursive call was cut short, its values then depend on the
+     * methods being evaluated by its caller and must not be reused for another caller.
+     */
+    static final class Dependencies {
+
+        private final @NotNull Set<PsiFile> files = new HashSet<>();
+        private boolean incomplete = false;
+        private boolean truncated = false;
+
+        void add(@Nullable PsiElement resolved) {
+            PsiFile file = resolved == null ? null : resolved.getContainingFile();
+
+            if (file != null)
+                this.files.add(file);
+        }
+
+        void addAll(@NotNull Dependencies other) {
+            this.files.addAll(other.files);
+            this.incomplete |= other.incomplete;
+            this.truncated |= other.truncated;
+        }
+
+        void markIncomplete() {
+            this.incomplete = true;
+        }
+
+        void markTruncated() {
+            this.truncated = true;
+        }
+
+        @NotNull Set<PsiFile> getFiles() {
+            return this.files;
+        }
+
+        boolean isIncomplete() {
+            return this.incomplete;
+        }
+
+        boolean isTruncated() {
+            return this.truncated;
+        }
+
+    }
+
 }
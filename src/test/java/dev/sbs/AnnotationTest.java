@@ -4,8 +4,15 @@ import dev.sbs.annotation.ResourcePath;
 import org.hamcrest.MatcherAssert;
 import org.junit.jupiter.api.Test;
 
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Target;
+
 public class AnnotationTest {
 
+    @ResourcePath(base = "META-INF")
+    @Target({ ElementType.FIELD, ElementType.PARAMETER, ElementType.METHOD })
+    public @interface MetaInfFile { }
+
     public enum TestEnum {
 
         OK("plugin.xml", "ok"),
@@ -36,6 +43,9 @@ public class AnnotationTest {
     @ResourcePath(base = "META-INF")
     private final String testBaseMethodField = getName();
 
+    @MetaInfFile
+    private final String testMetaAnnotationField = "plugin.xml";
+
     private static void testStaticMethod(@ResourcePath(base = "META-INF") String resourcePath) { }
 
     private void testMethod(@ResourcePath String resourcePath) { }
@@ -51,6 +61,18 @@ public class AnnotationTest {
         return resourcePath2 + getFiletype();
     }
 
+    @ResourcePath
+    private String testBranchMethod(boolean plugin) {
+        String path = "META-INF/";
+
+        if (plugin)
+            path += "plugin.xml";
+        else
+            path = new StringBuilder("META-INF/").append(getName()).toString();
+
+        return path;
+    }
+
     final String getName() {
         return "plugin" + getFiletype();
     }
@@ -73,6 +95,7 @@ public class AnnotationTest {
         testMethod(recursiveValue);
         final String returnValue = testReturnMethod("META-INF/plugin");
         testMethod(returnValue);
+        testMethod(testBranchMethod(true));
 
         MatcherAssert.assertThat("Done", true);
     }
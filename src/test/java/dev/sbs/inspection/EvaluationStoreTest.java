@@ -0,0 +1,192 @@
+package dev.sbs.inspection;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class EvaluationStoreTest {
+
+    private static final int EVALUATOR_VERSION = 1;
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void savedEntries_roundTrip() {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        EvaluationStore.Entry.Data data = data(42L, Map.of("src/Other.java", 7L), "META-INF/plugin.xml", "META-INF/other.xml");
+        store.put("src/Test.java#10-20#LITERAL_EXPRESSION", data);
+        store.save();
+
+        EvaluationStore reloaded = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        MatcherAssert.assertThat(reloaded.get("src/Test.java#10-20#LITERAL_EXPRESSION"), Matchers.equalTo(data));
+        MatcherAssert.assertThat(reloaded.get("src/Test.java#10-21#LITERAL_EXPRESSION"), Matchers.nullValue());
+        MatcherAssert.assertThat(Files.isRegularFile(store.getPath(1)), Matchers.is(true));
+    }
+
+    @Test
+    public void save_writesNewGenerationAndDeletesOlder() {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        store.put("a", data(1L, Map.of(), "a"));
+        store.save();
+        store.put("b", data(2L, Map.of(), "b"));
+        store.save();
+
+        MatcherAssert.assertThat(Files.exists(store.getPath(1)), Matchers.is(false));
+        MatcherAssert.assertThat(Files.isRegularFile(store.getPath(2)), Matchers.is(true));
+        MatcherAssert.assertThat(new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED).size(), Matchers.is(2));
+    }
+
+    @Test
+    public void save_withoutChanges_keepsGeneration() {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        store.put("a", data(1L, Map.of(), "a"));
+        store.save();
+
+        EvaluationStore reloaded = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        reloaded.get("a");
+        reloaded.save();
+        MatcherAssert.assertThat(Files.exists(store.getPath(2)), Matchers.is(false));
+    }
+
+    @Test
+    public void entryLimit_evictsLeastRecentlyUsed() {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 2, UNBOUNDED);
+        store.put("a", data(1L, Map.of(), "a"));
+        store.put("b", data(2L, Map.of(), "b"));
+        store.get("a");
+        store.put("c", data(3L, Map.of(), "c"));
+
+        MatcherAssert.assertThat(store.contains("a"), Matchers.is(true));
+        MatcherAssert.assertThat(store.contains("b"), Matchers.is(false));
+        MatcherAssert.assertThat(store.contains("c"), Matchers.is(true));
+    }
+
+    @Test
+    public void byteLimit_dropsLeastRecentlyUsedOnSave() {
+        EvaluationStore unbounded = new EvaluationStore(this.directory.resolve("sizing"), EVALUATOR_VERSION, 10, UNBOUNDED);
+        unbounded.put("a", data(1L, Map.of(), "a"));
+        long entryBytes = unbounded.getPayloads().get("a").length + 1 * 3L + 8;
+
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, entryBytes * 2);
+        store.put("a", data(1L, Map.of(), "a"));
+        store.put("b", data(2L, Map.of(), "b"));
+        store.put("c", data(3L, Map.of(), "c"));
+        store.get("a");
+        store.save();
+
+        EvaluationStore reloaded = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        MatcherAssert.assertThat(reloaded.size(), Matchers.is(2));
+        MatcherAssert.assertThat(reloaded.contains("a"), Matchers.is(true));
+        MatcherAssert.assertThat(reloaded.contains("b"), Matchers.is(false));
+        MatcherAssert.assertThat(reloaded.contains("c"), Matchers.is(true));
+    }
+
+    @Test
+    public void corruptedHeader_isDiscardedAndSuperseded() throws IOException {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        Files.write(store.getPath(1), new byte[] { 1, 2, 3, 4, 5, 6, 7 });
+
+        MatcherAssert.assertThat(store.get("a"), Matchers.nullValue());
+        MatcherAssert.assertThat(store.size(), Matchers.is(0));
+
+        store.put("a", data(1L, Map.of(), "a"));
+        store.save();
+        MatcherAssert.assertThat(Files.isRegularFile(store.getPath(2)), Matchers.is(true));
+        MatcherAssert.assertThat(new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED).get("a"), Matchers.notNullValue());
+    }
+
+    @Test
+    public void truncatedEntry_isDiscarded() throws IOException {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        store.put("a", data(1L, Map.of(), "a"));
+        store.save();
+
+        byte[] bytes = Files.readAllBytes(store.getPath(1));
+        Files.write(store.getPath(1), Arrays.copyOf(bytes, bytes.length - 3));
+        EvaluationStore reloaded = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+
+        MatcherAssert.assertThat(reloaded.get("a"), Matchers.nullValue());
+        MatcherAssert.assertThat(reloaded.size(), Matchers.is(0));
+    }
+
+    @Test
+    public void corruptedPayload_isDiscardedOnDecode() throws IOException {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+
+        try (OutputStream outputStream = Files.newOutputStream(store.getPath(1)); DataOutputStream output = new DataOutputStream(outputStream)) {
+            output.writeInt(0x52504443);
+            output.writeInt(3);
+            output.writeInt(EVALUATOR_VERSION);
+            output.writeInt(2);
+            EvaluationStore.writeString(output, "a");
+            output.writeInt(4);
+            output.writeInt(-1); // Payload too short for a file hash
+            EvaluationStore.writeString(output, "b");
+            output.writeInt(0);
+        }
+
+        MatcherAssert.assertThat(store.size(), Matchers.is(2));
+        MatcherAssert.assertThat(store.get("a"), Matchers.nullValue());
+        MatcherAssert.assertThat(store.size(), Matchers.is(0));
+    }
+
+    @Test
+    public void otherEvaluatorVersion_isDiscardedAndSuperseded() {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        store.put("a", data(1L, Map.of(), "a"));
+        store.save();
+
+        EvaluationStore upgraded = new EvaluationStore(this.directory, EVALUATOR_VERSION + 1, 10, UNBOUNDED);
+        MatcherAssert.assertThat(upgraded.get("a"), Matchers.nullValue());
+        MatcherAssert.assertThat(upgraded.size(), Matchers.is(0));
+
+        upgraded.save();
+        MatcherAssert.assertThat(Files.isRegularFile(store.getPath(2)), Matchers.is(true));
+        MatcherAssert.assertThat(new EvaluationStore(this.directory, EVALUATOR_VERSION + 1, 10, UNBOUNDED).size(), Matchers.is(0));
+    }
+
+    @Test
+    public void removeOutdated_keepsEntriesOfCurrentContent() {
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        store.put("src/A.java#1-2#LITERAL_EXPRESSION", data(1L, Map.of(), "old"));
+        store.put("src/A.java#5-6#LITERAL_EXPRESSION", data(2L, Map.of(), "current"));
+        store.put("src/B.java#1-2#LITERAL_EXPRESSION", data(1L, Map.of(), "other"));
+        store.removeOutdated(key -> key.startsWith("src/A.java#"), 2L);
+
+        MatcherAssert.assertThat(store.contains("src/A.java#1-2#LITERAL_EXPRESSION"), Matchers.is(false));
+        MatcherAssert.assertThat(store.contains("src/A.java#5-6#LITERAL_EXPRESSION"), Matchers.is(true));
+        MatcherAssert.assertThat(store.contains("src/B.java#1-2#LITERAL_EXPRESSION"), Matchers.is(true));
+    }
+
+    @Test
+    public void importedPayload_decodesLikeStoredEntry() {
+        EvaluationStore exporter = new EvaluationStore(this.directory.resolve("export"), EVALUATOR_VERSION, 10, UNBOUNDED);
+        EvaluationStore.Entry.Data data = data(5L, Map.of("src/Other.java", 9L), "x");
+        exporter.put("a", data);
+
+        EvaluationStore store = new EvaluationStore(this.directory, EVALUATOR_VERSION, 10, UNBOUNDED);
+        store.putPayload("a", exporter.getPayloads().get("a"));
+        MatcherAssert.assertThat(store.get("a"), Matchers.equalTo(data));
+    }
+
+    private static EvaluationStore.Entry.Data data(long fileHash, Map<String, Long> dependencies, String... values) {
+        Set<String> valueSet = new LinkedHashSet<>(List.of(values));
+        return new EvaluationStore.Entry.Data(fileHash, dependencies, Collections.unmodifiableSet(valueSet));
+    }
+
+}
@@ -0,0 +1,80 @@
+package dev.sbs.inspection;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+
+public class ResourcePathTrigramIndexTest {
+
+    @Test
+    public void typo_closestPathRanksFirst() {
+        ResourcePathTrigramIndex index = index("assets/icons/logo.png", "assets/logo.svg", "assets/logo.png", "config/settings.xml");
+        MatcherAssert.assertThat(index.suggest("assets/lgo.png", "", 3), Matchers.contains("assets/logo.png", "assets/logo.svg", "assets/icons/logo.png"));
+    }
+
+    @Test
+    public void wrongCase_suggestsOriginalCase() {
+        ResourcePathTrigramIndex index = index("META-INF/plugin.xml", "META-INF/other.xml");
+        MatcherAssert.assertThat(index.suggest("META-INF/Plugin.xml", "", 1), Matchers.contains("META-INF/plugin.xml"));
+    }
+
+    @Test
+    public void wrongExtension_suggestsExistingFile() {
+        ResourcePathTrigramIndex index = index("config/settings.xml", "config/colors.yml");
+        MatcherAssert.assertThat(index.suggest("config/settings.yml", "", 1), Matchers.contains("config/settings.xml"));
+    }
+
+    @Test
+    public void base_limitsSuggestions() {
+        ResourcePathTrigramIndex index = index("META-INF/plugin.xml", "assets/plugin.xml");
+        MatcherAssert.assertThat(index.suggest("assets/plugn.xml", "assets", 3), Matchers.contains("assets/plugin.xml"));
+    }
+
+    @Test
+    public void unrelatedPath_suggestsNothing() {
+        ResourcePathTrigramIndex index = index("config/settings.xml");
+        MatcherAssert.assertThat(index.suggest("config/x.png", "", 3), Matchers.empty());
+    }
+
+    @Test
+    public void removeTree_dropsDirectoryContents() {
+        ResourcePathTrigramIndex index = index("assets/icons/a.png", "assets/icons/b.png", "assets/iconsx.png");
+        index.removeTree("assets/icons");
+
+        MatcherAssert.assertThat(index.contains("assets/icons/a.png"), Matchers.is(false));
+        MatcherAssert.assertThat(index.contains("assets/icons/b.png"), Matchers.is(false));
+        MatcherAssert.assertThat(index.contains("assets/iconsx.png"), Matchers.is(true));
+        MatcherAssert.assertThat(index.suggest("assets/icons/a.png", "", 3), Matchers.not(Matchers.hasItem("assets/icons/a.png")));
+    }
+
+    @Test
+    public void add_ignoresDuplicates() {
+        ResourcePathTrigramIndex index = index("config/settings.xml", "config/settings.xml");
+        MatcherAssert.assertThat(index.size(), Matchers.is(1));
+        MatcherAssert.assertThat(index.suggest("config/setings.xml", "", 3), Matchers.contains("config/settings.xml"));
+    }
+
+    @Test
+    public void trigrams_arePaddedAtBothEnds() {
+        MatcherAssert.assertThat(ResourcePathTrigramIndex.getTrigrams("ab").length, Matchers.is(2));
+        MatcherAssert.assertThat(ResourcePathTrigramIndex.getTrigrams("").length, Matchers.is(0));
+        MatcherAssert.assertThat(ResourcePathTrigramIndex.getTrigrams("abc")[0], Matchers.not(ResourcePathTrigramIndex.getTrigrams("xabc")[1]));
+    }
+
+    @Test
+    public void distance_countsEdits() {
+        MatcherAssert.assertThat(ResourcePathTrigramIndex.getDistance("kitten", "sitting"), Matchers.is(3));
+        MatcherAssert.assertThat(ResourcePathTrigramIndex.getDistance("", "abc"), Matchers.is(3));
+        MatcherAssert.assertThat(ResourcePathTrigramIndex.getDistance("logo.png", "logo.png"), Matchers.is(0));
+    }
+
+    private static ResourcePathTrigramIndex index(String... paths) {
+        ResourcePathTrigramIndex index = new ResourcePathTrigramIndex();
+
+        for (String path : paths)
+            index.add(path);
+
+        return index;
+    }
+
+}
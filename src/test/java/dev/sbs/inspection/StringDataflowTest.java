@@ -0,0 +1,94 @@
+package dev.sbs.inspection;
+
+import com.intellij.psi.PsiJavaFile;
+import com.intellij.psi.PsiMethod;
+import com.intellij.psi.PsiParameter;
+import com.intellij.psi.PsiVariable;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+public class StringDataflowTest extends LightJavaCodeInsightFixtureTestCase {
+
+    public void testReassignment_lastValueReaches() {
+        Set<String> values = this.evaluate("", "String p = \"a\"; p = \"b\"; return p;");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("b"));
+    }
+
+    public void testIfElse_branchesMerge() {
+        Set<String> values = this.evaluate("", "String p = \"META-INF/\"; if (flag) p += \"a.xml\"; else p = \"b.xml\"; return p;");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("META-INF/a.xml", "b.xml"));
+    }
+
+    public void testCompoundAssignmentInLoop_widensToUnknown() {
+        Set<String> values = this.evaluate("", "String p = \"\"; for (int i = 0; i < count; i++) p += \"x\"; return p;");
+        MatcherAssert.assertThat(values, Matchers.empty());
+    }
+
+    public void testSiblingScopes_doNotShareValues() {
+        Set<String> values = this.evaluate("", "{ String p = \"a\"; p.length(); } { String p = \"b\"; return p; }");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("b"));
+    }
+
+    public void testShadowedField_ignoresStaleLocal() {
+        Set<String> values = this.evaluate("final String p = \"f\";", "{ String p = \"a\"; p.length(); } return p;");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("f"));
+    }
+
+    public void testBuilderAppendInInitializer_appliedOnce() {
+        Set<String> values = this.evaluate("", "StringBuilder sb = new StringBuilder(\"x\"); String s = sb.append(\"a\").toString(); return s;");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("xa"));
+    }
+
+    public void testBuilderAppendInAssignment_appliedOnce() {
+        Set<String> values = this.evaluate("", "StringBuilder sb = new StringBuilder(); String x = \"b\"; String s; s = sb.append(x).toString(); return s + sb.toString();");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("bb"));
+    }
+
+    public void testBuilderAppendStatements_accumulate() {
+        Set<String> values = this.evaluate("", "StringBuilder sb = new StringBuilder(\"META-INF/\"); sb.append(\"plugin\").append(\".xml\"); return sb.toString();");
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("META-INF/plugin.xml"));
+    }
+
+    public void testBoundParameter_reachesReturn() {
+        PsiMethod method = this.configure("", "return name + \".xml\";");
+        PsiParameter parameter = method.getParameterList().getParameters()[2];
+        Set<String> values = StringDataflow.getReturnValues(method, Map.<PsiVariable, Set<String>>of(parameter, Set.of("plugin")), new HashSet<>(), new StringExpressionEvaluator.Dependencies());
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("plugin.xml"));
+    }
+
+    public void testMutualRecursion_truncatedResultNotReused() {
+        PsiMethod method = this.configure("String other() { return test(true, 0, \"x\") + \"/b\"; }", "if (flag) return \"a\"; return other();");
+        PsiParameter[] parameters = method.getParameterList().getParameters();
+        this.evaluate(method); // Analyzes test from within other, where the call back into other is cut short
+
+        Set<String> values = StringDataflow.getReturnValues(
+            method,
+            Map.<PsiVariable, Set<String>>of(parameters[0], Set.of(), parameters[1], Set.of(), parameters[2], Set.of("x")),
+            new HashSet<>(),
+            new StringExpressionEvaluator.Dependencies()
+        );
+        MatcherAssert.assertThat(values, Matchers.containsInAnyOrder("a", "a/b"));
+    }
+
+    private Set<String> evaluate(String members, String body) {
+        return this.evaluate(this.configure(members, body));
+    }
+
+    private Set<String> evaluate(PsiMethod method) {
+        return StringDataflow.getReturnValues(method, Map.of(), new HashSet<>(), new StringExpressionEvaluator.Dependencies());
+    }
+
+    private PsiMethod configure(String members, String body) {
+        PsiJavaFile file = (PsiJavaFile) this.myFixture.configureByText(
+            "Test.java",
+            "class Test { " + members + " String test(boolean flag, int count, String name) { " + body + " } }"
+        );
+        return file.getClasses()[0].findMethodsByName("test", false)[0];
+    }
+
+}